@@ -2,8 +2,10 @@ package com.example.SpringBoot_demoProject;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // Runs the nightly archiver and the periodic name-index rebuild check.
 public class SpringBootDemoProjectApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,268 @@
+package com.example.SpringBoot_demoProject.archive;
+
+import com.example.SpringBoot_demoProject.model.TestFormData;
+import com.example.SpringBoot_demoProject.util.NameBloomFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read-only, memory-mapped view of one archive segment file written by {@link ArchiveSegmentWriter}.
+ * <p>
+ * Layout: a sequence of deflated blocks, each holding up to {@link #RECORDS_PER_BLOCK} rows in ascending
+ * ID order, followed by a sparse index with one entry per block, followed by a fixed-size footer.
+ * A lookup binary-searches the in-memory index, then inflates a single block straight from the mapping.
+ * Name lookups have no index on disk: opening a segment reads every name once into an in-memory Bloom filter,
+ * so only segments that possibly hold a name are scanned for it.
+ * <pre>
+ * block record : long id, long createdAtSeconds, int createdAtNanos, UTF name
+ * index entry  : long firstId, long offset, int compressedLength, int rawLength
+ * footer       : long indexOffset, int blockCount, long rowCount, long minId, long maxId, int version, int magic
+ * </pre>
+ */
+public final class ArchiveSegment implements Closeable {
+
+    static final int MAGIC = 0x54464453; // "TFDS"
+    static final int VERSION = 1;
+    static final int RECORDS_PER_BLOCK = 128;
+    static final int FOOTER_BYTES = 8 + 4 + 8 + 8 + 8 + 4 + 4;
+    private static final int INDEX_ENTRY_BYTES = 8 + 8 + 4 + 4;
+    // Kept low because a lookup consults every segment's filter, so their error rates add up.
+    private static final double NAME_FILTER_FALSE_POSITIVE_PROBABILITY = 0.001;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer data;
+    private final long[] blockFirstIds;
+    private final long[] blockOffsets;
+    private final int[] compressedLengths;
+    private final int[] rawLengths;
+    private final long rowCount;
+    private final long minId;
+    private final long maxId;
+    private final NameBloomFilter names;
+
+    private ArchiveSegment(Path path, FileChannel channel, MappedByteBuffer data) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.data = data;
+
+        int size = data.capacity();
+        if (size < FOOTER_BYTES) {
+            throw new IOException("Not an archive segment (too short): " + path);
+        }
+        ByteBuffer footer = data.slice(size - FOOTER_BYTES, FOOTER_BYTES);
+        long indexOffset = footer.getLong();
+        int blockCount = footer.getInt();
+        this.rowCount = footer.getLong();
+        this.minId = footer.getLong();
+        this.maxId = footer.getLong();
+        int version = footer.getInt();
+        int magic = footer.getInt();
+        if (magic != MAGIC || version != VERSION
+                || indexOffset + (long) blockCount * INDEX_ENTRY_BYTES != size - FOOTER_BYTES) {
+            throw new IOException("Not an archive segment or unsupported version: " + path);
+        }
+
+        this.blockFirstIds = new long[blockCount];
+        this.blockOffsets = new long[blockCount];
+        this.compressedLengths = new int[blockCount];
+        this.rawLengths = new int[blockCount];
+        ByteBuffer index = data.slice((int) indexOffset, blockCount * INDEX_ENTRY_BYTES);
+        for (int i = 0; i < blockCount; i++) {
+            blockFirstIds[i] = index.getLong();
+            blockOffsets[i] = index.getLong();
+            compressedLengths[i] = index.getInt();
+            rawLengths[i] = index.getInt();
+        }
+
+        this.names = new NameBloomFilter(Math.max(1, rowCount), NAME_FILTER_FALSE_POSITIVE_PROBABILITY);
+        try {
+            anyNameMatches(name -> {
+                names.put(name);
+                return false;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Maps a segment file and loads its sparse index.
+     * @param path The segment file.
+     * @return The opened segment.
+     * @throws IOException if the file cannot be read, is larger than 2 GB, or is not a valid segment.
+     */
+    public static ArchiveSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Archive segment too large to map: " + path);
+            }
+            return new ArchiveSegment(path, channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Looks up a single archived row. Safe to call from multiple threads.
+     * @param id The row ID.
+     * @return The archived row, or empty if this segment does not hold it.
+     */
+    public Optional<TestFormData> findById(long id) {
+        if (id < minId || id > maxId) {
+            return Optional.empty();
+        }
+        int block = Arrays.binarySearch(blockFirstIds, id);
+        if (block < 0) {
+            block = -block - 2; // The last block whose first ID is below the target.
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(inflate(block)))) {
+            while (in.available() > 0) {
+                long rowId = in.readLong();
+                Instant createdAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+                String name = in.readUTF();
+                if (rowId == id) {
+                    TestFormData row = new TestFormData(rowId, name);
+                    row.setCreatedAt(createdAt);
+                    return Optional.of(row);
+                }
+                if (rowId > id) {
+                    break;
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt block " + block + " in archive segment " + path, e);
+        }
+    }
+
+    /**
+     * Checks the in-memory name filter only.
+     * @param name The name to check.
+     * @return false if no row in this segment has the name, true if one possibly has.
+     */
+    public boolean mightContainName(String name) {
+        return names.mightContain(name);
+    }
+
+    /**
+     * Checks whether any row in this segment has the given name. Safe to call from multiple threads.
+     * @param name The name to look for.
+     * @return true if a row with exactly this name is archived here.
+     */
+    public boolean containsName(String name) {
+        return names.mightContain(name) && anyNameMatches(name::equals);
+    }
+
+    /**
+     * Adds to {@code found} every name from {@code wanted} that a row in this segment has,
+     * scanning the segment at most once.
+     * @param wanted The names to look for.
+     * @param found Receives the names that are archived here.
+     */
+    public void collectNames(Collection<String> wanted, Set<String> found) {
+        Set<String> possible = wanted.stream().filter(names::mightContain).collect(Collectors.toSet());
+        if (!possible.isEmpty()) {
+            anyNameMatches(name -> {
+                if (possible.contains(name)) {
+                    found.add(name);
+                }
+                return false;
+            });
+        }
+    }
+
+    // Visits the names of all rows in ID order until the predicate matches.
+    private boolean anyNameMatches(Predicate<String> predicate) {
+        for (int block = 0; block < blockFirstIds.length; block++) {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(inflate(block)))) {
+                while (in.available() > 0) {
+                    in.skipNBytes(8 + 8 + 4); // ID and creation time.
+                    if (predicate.test(in.readUTF())) {
+                        return true;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Corrupt block " + block + " in archive segment " + path, e);
+            }
+        }
+        return false;
+    }
+
+    private byte[] inflate(int block) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data.slice((int) blockOffsets[block], compressedLengths[block]));
+            byte[] raw = new byte[rawLengths[block]];
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int read = inflater.inflate(raw, length, raw.length - length);
+                if (read == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += read;
+            }
+            if (length != raw.length) {
+                throw new IOException("Truncated block " + block + " in archive segment " + path);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block " + block + " in archive segment " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public String name() {
+        return path.getFileName().toString();
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public long minId() {
+        return minId;
+    }
+
+    public long maxId() {
+        return maxId;
+    }
+
+    public long sizeBytes() {
+        return data.capacity();
+    }
+
+    /**
+     * Closes the file channel. The mapping itself is released by the JVM once unreachable.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
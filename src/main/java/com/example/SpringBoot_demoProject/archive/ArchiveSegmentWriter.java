@@ -0,0 +1,141 @@
+package com.example.SpringBoot_demoProject.archive;
+
+import com.example.SpringBoot_demoProject.model.TestFormData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.zip.Deflater;
+
+/**
+ * Writes one immutable archive segment file. See {@link ArchiveSegment} for the file layout.
+ * Rows must be appended in ascending ID order; every {@link ArchiveSegment#RECORDS_PER_BLOCK} rows
+ * are deflated into a block and given one entry in the sparse index.
+ */
+public final class ArchiveSegmentWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final byte[] deflateBuffer = new byte[8192];
+
+    private final ByteArrayOutputStream blockBytes = new ByteArrayOutputStream();
+    private final DataOutputStream block = new DataOutputStream(blockBytes);
+    private final ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+    private final DataOutputStream index = new DataOutputStream(indexBytes);
+
+    private int blockRecords;
+    private long blockFirstId;
+    private int blockCount;
+    private long position;
+    private long rowCount;
+    private long minId;
+    private long maxId;
+
+    /**
+     * Creates the segment file; it must not exist yet.
+     * @param file The path to write.
+     * @throws IOException if the file cannot be created.
+     */
+    public ArchiveSegmentWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Appends one row.
+     * @param row The row to archive; its ID, name and creation time must be set.
+     * @throws IllegalArgumentException if the row's ID is not greater than the previous one.
+     * @throws IOException if a full block cannot be written.
+     */
+    public void append(TestFormData row) throws IOException {
+        long id = row.getId();
+        if (rowCount > 0 && id <= maxId) {
+            throw new IllegalArgumentException("Rows must be appended in ascending ID order");
+        }
+        if (rowCount == 0) {
+            minId = id;
+        }
+        if (blockRecords == 0) {
+            blockFirstId = id;
+        }
+        Instant createdAt = row.getCreatedAt();
+        block.writeLong(id);
+        block.writeLong(createdAt.getEpochSecond());
+        block.writeInt(createdAt.getNano());
+        block.writeUTF(row.getName());
+        maxId = id;
+        rowCount++;
+        if (++blockRecords == ArchiveSegment.RECORDS_PER_BLOCK) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Writes the last partial block, the sparse index and the footer, then forces the file to disk.
+     * @throws IllegalStateException if no rows were appended.
+     * @throws IOException if writing fails.
+     */
+    public void finish() throws IOException {
+        if (rowCount == 0) {
+            throw new IllegalStateException("Cannot write an empty archive segment");
+        }
+        if (blockRecords > 0) {
+            flushBlock();
+        }
+        long indexOffset = position;
+        writeFully(ByteBuffer.wrap(indexBytes.toByteArray()));
+
+        ByteBuffer footer = ByteBuffer.allocate(ArchiveSegment.FOOTER_BYTES);
+        footer.putLong(indexOffset)
+              .putInt(blockCount)
+              .putLong(rowCount)
+              .putLong(minId)
+              .putLong(maxId)
+              .putInt(ArchiveSegment.VERSION)
+              .putInt(ArchiveSegment.MAGIC)
+              .flip();
+        writeFully(footer);
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        channel.close();
+    }
+
+    private void flushBlock() throws IOException {
+        byte[] raw = blockBytes.toByteArray();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2);
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        while (!deflater.finished()) {
+            int length = deflater.deflate(deflateBuffer);
+            compressed.write(deflateBuffer, 0, length);
+        }
+        byte[] bytes = compressed.toByteArray();
+        writeFully(ByteBuffer.wrap(bytes));
+
+        index.writeLong(blockFirstId);
+        index.writeLong(position);
+        index.writeInt(bytes.length);
+        index.writeInt(raw.length);
+
+        position += bytes.length;
+        blockCount++;
+        blockRecords = 0;
+        blockBytes.reset();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.SpringBoot_demoProject.archive;
+
+import com.example.SpringBoot_demoProject.dto.ArchiveSegmentInfo;
+import com.example.SpringBoot_demoProject.model.TestFormData;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Cold tier for TestFormData: the set of archive segment files in the archive directory.
+ * Segments are append-only; new ones are added by {@link TestFormDataArchiver} and existing ones
+ * are never modified, so they can be memory-mapped and served to clients as-is. Only segments recorded in the
+ * {@code test_form_data_archive_segment} table are opened, since only those had their rows removed from the table.
+ */
+@Component
+@DependsOn("entityManagerFactory") // Hibernate creates the segment table while the entity manager factory starts.
+public class TestFormDataArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(TestFormDataArchive.class);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String ORPHANED_SUFFIX = ".orphaned";
+
+    private static final String SELECT_RECORDED_SQL = "SELECT name FROM test_form_data_archive_segment";
+    private static final String RECORD_SQL = "INSERT INTO test_form_data_archive_segment (name) VALUES (?)";
+
+    private final Path directory;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>(); // Oldest first.
+
+    /**
+     * Opens every committed segment already in the archive directory, creating the directory if needed.
+     * @param directory    The archive directory.
+     * @param jdbcTemplate Used to read and write the committed-segment records.
+     * @throws IOException if the directory cannot be created or listed.
+     */
+    public TestFormDataArchive(@Value("${test-data.archive.directory:data/archive}") Path directory,
+                               JdbcTemplate jdbcTemplate) throws IOException {
+        this.directory = directory;
+        this.jdbcTemplate = jdbcTemplate;
+        Files.createDirectories(directory);
+
+        // A leftover temp file is a segment whose rows were never deleted from the table, so it is safe to drop.
+        try (DirectoryStream<Path> temps = Files.newDirectoryStream(directory, "*" + TEMP_SUFFIX)) {
+            for (Path temp : temps) {
+                Files.deleteIfExists(temp);
+            }
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null); // File names start with a zero-padded timestamp, so this is creation order.
+
+        Set<String> recorded = new HashSet<>(jdbcTemplate.queryForList(SELECT_RECORDED_SQL, String.class));
+        for (Path file : files) {
+            if (!recorded.remove(file.getFileName().toString())) {
+                // Written, but the process stopped before the delete committed: its rows are still live.
+                // Kept under another name rather than deleted, in case the archive was pointed at the wrong database.
+                Path orphaned = file.resolveSibling(file.getFileName() + ORPHANED_SUFFIX);
+                Files.move(file, orphaned, StandardCopyOption.REPLACE_EXISTING);
+                log.warn("Set aside archive segment {} whose rows were never removed from the table", orphaned);
+                continue;
+            }
+            try {
+                segments.add(ArchiveSegment.open(file));
+            } catch (IOException e) {
+                log.error("Skipping unreadable archive segment {}", file, e);
+            }
+        }
+        if (!recorded.isEmpty()) {
+            log.error("Missing archive segments {} in {}; their rows cannot be read", recorded, directory.toAbsolutePath());
+        }
+        log.info("Opened {} archive segments in {}", segments.size(), directory.toAbsolutePath());
+    }
+
+    /**
+     * Writes rows to a new segment and makes it visible to lookups. The file is written under a
+     * temporary name, forced to disk and then atomically renamed, so a crash never leaves a partial segment.
+     * Must be called in the transaction that deletes the rows: the segment is recorded in that transaction,
+     * so it is opened again after a restart only if the delete committed.
+     * @param rows The rows to archive, in ascending ID order, each with a creation time.
+     * @return The new segment.
+     * @throws IOException if the segment cannot be written.
+     */
+    public synchronized ArchiveSegment writeSegment(List<TestFormData> rows) throws IOException {
+        String name = String.format("segment-%013d-%019d", System.currentTimeMillis(), rows.get(0).getId());
+        Path temp = directory.resolve(name + TEMP_SUFFIX);
+        Path target = directory.resolve(name + SEGMENT_SUFFIX);
+        try {
+            try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(temp)) {
+                for (TestFormData row : rows) {
+                    writer.append(row);
+                }
+                writer.finish();
+            }
+            jdbcTemplate.update(RECORD_SQL, target.getFileName().toString());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        ArchiveSegment segment = ArchiveSegment.open(target);
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Removes a segment whose rows could not be deleted from the live table, e.g. because the archiving
+     * transaction rolled back, taking the segment's record with it. The live rows stay authoritative and are
+     * archived again by a later run.
+     * @param segment A segment returned by {@link #writeSegment(List)}.
+     */
+    public synchronized void discardSegment(ArchiveSegment segment) {
+        segments.remove(segment);
+        try {
+            segment.close();
+            Files.deleteIfExists(segment.path());
+        } catch (IOException e) {
+            log.warn("Failed to delete discarded archive segment {}", segment.path(), e);
+        }
+    }
+
+    /**
+     * Looks up an archived row, newest segment first.
+     * @param id The row ID.
+     * @return The archived row, or empty if no segment holds it.
+     */
+    public Optional<TestFormData> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Optional<TestFormData> row = segments.get(i).findById(id);
+            if (row.isPresent()) {
+                return row;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Checks whether an archived row has the given name. Archived names stay taken, so duplicate-name
+     * checks consult this as well as the live table.
+     * @param name The name to look for.
+     * @return true if any segment holds a row with exactly this name.
+     */
+    public boolean containsName(String name) {
+        for (ArchiveSegment segment : segments) {
+            if (segment.containsName(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the segments' in-memory name filters only, without scanning any segment.
+     * @param name The name to check.
+     * @return false if no archived row has the name, true if one possibly has.
+     */
+    public boolean mightContainName(String name) {
+        for (ArchiveSegment segment : segments) {
+            if (segment.mightContainName(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bulk form of {@link #containsName(String)}, scanning each segment at most once.
+     * @param names The names to look for.
+     * @return The subset of {@code names} held by archived rows.
+     */
+    public Set<String> findNames(Collection<String> names) {
+        Set<String> found = new HashSet<>();
+        for (ArchiveSegment segment : segments) {
+            segment.collectNames(names, found);
+        }
+        return found;
+    }
+
+    /**
+     * @return A description of every segment, oldest first.
+     */
+    public List<ArchiveSegmentInfo> listSegments() {
+        return segments.stream()
+                .map(segment -> new ArchiveSegmentInfo(segment.name(), segment.rowCount(),
+                        segment.minId(), segment.maxId(), segment.sizeBytes()))
+                .toList();
+    }
+
+    /**
+     * Resolves a segment by file name. Only known segments are returned, so arbitrary paths cannot be read.
+     * @param name The segment file name.
+     * @return The segment's file, or empty if there is no such segment.
+     */
+    public Optional<Path> findSegmentFile(String name) {
+        return segments.stream()
+                .filter(segment -> segment.name().equals(name))
+                .map(ArchiveSegment::path)
+                .findFirst();
+    }
+
+    @PreDestroy
+    public void close() {
+        for (ArchiveSegment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Failed to close archive segment {}", segment.path(), e);
+            }
+        }
+    }
+}
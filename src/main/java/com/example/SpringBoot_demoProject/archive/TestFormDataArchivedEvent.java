@@ -0,0 +1,10 @@
+package com.example.SpringBoot_demoProject.archive;
+
+/**
+ * Published by {@link TestFormDataArchiver} after a batch of rows has been moved to the archive and
+ * deleted from the live table, so components that track live rows can account for them.
+ *
+ * @param rowCount The number of rows removed from the live table.
+ */
+public record TestFormDataArchivedEvent(long rowCount) {
+}
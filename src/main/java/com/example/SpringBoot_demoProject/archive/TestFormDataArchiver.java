@@ -0,0 +1,114 @@
+package com.example.SpringBoot_demoProject.archive;
+
+import com.example.SpringBoot_demoProject.model.TestFormData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Scheduled job that moves TestFormData rows older than {@code test-data.archive.min-age} out of the live
+ * table and into {@link TestFormDataArchive} segments. Each batch is selected {@code FOR UPDATE}, written and
+ * forced to disk, and deleted in one transaction, so a concurrent update either commits before the rows are
+ * read (and is archived) or waits until they are gone; a failure at any point leaves every row readable
+ * from at least one tier. Rows without a creation time (stored before the column existed) are never archived.
+ */
+@Component
+public class TestFormDataArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TestFormDataArchiver.class);
+
+    static final int ROWS_PER_SEGMENT = 50_000; // Upper bound on rows held in memory and written per segment.
+
+    private static final String SELECT_SQL =
+            "SELECT id, name, created_at FROM test_form_data WHERE created_at < ? ORDER BY id LIMIT ? FOR UPDATE";
+    private static final String DELETE_SQL = "DELETE FROM test_form_data WHERE id = ?";
+
+    private static final RowMapper<TestFormData> ROW_MAPPER = (resultSet, rowNum) -> {
+        TestFormData row = new TestFormData(resultSet.getLong("id"), resultSet.getString("name"));
+        row.setCreatedAt(resultSet.getTimestamp("created_at").toInstant());
+        return row;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TestFormDataArchive archive;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration minAge;
+
+    public TestFormDataArchiver(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                TestFormDataArchive archive,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${test-data.archive.min-age:P7D}") Duration minAge) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archive = archive;
+        this.eventPublisher = eventPublisher;
+        this.minAge = minAge;
+    }
+
+    @Scheduled(cron = "${test-data.archive.cron:0 0 3 * * *}")
+    public void archiveScheduled() {
+        archiveOlderThan(Instant.now().minus(minAge));
+    }
+
+    /**
+     * Archives every row created before the cutoff, one segment per {@link #ROWS_PER_SEGMENT} rows.
+     * @param cutoff Rows with an earlier creation time are archived.
+     * @return The number of rows moved to the archive.
+     */
+    public synchronized long archiveOlderThan(Instant cutoff) {
+        long archived = 0;
+        List<TestFormData> rows;
+        do {
+            ArchiveSegment[] written = new ArchiveSegment[1];
+            try {
+                rows = transactionTemplate.execute(status -> {
+                    List<TestFormData> locked = jdbcTemplate.query(SELECT_SQL, ROW_MAPPER,
+                            Timestamp.from(cutoff), ROWS_PER_SEGMENT);
+                    if (!locked.isEmpty()) {
+                        written[0] = writeSegment(locked);
+                        jdbcTemplate.batchUpdate(DELETE_SQL, locked, 1000,
+                                (statement, row) -> statement.setLong(1, row.getId()));
+                    }
+                    return locked;
+                });
+            } catch (RuntimeException e) {
+                if (written[0] != null) {
+                    archive.discardSegment(written[0]); // Its rows are still live, possibly changed afterwards.
+                }
+                throw e;
+            }
+            if (rows.isEmpty()) {
+                break;
+            }
+            eventPublisher.publishEvent(new TestFormDataArchivedEvent(rows.size()));
+
+            archived += rows.size();
+            ArchiveSegment segment = written[0];
+            log.info("Archived {} rows (IDs {}-{}) to {}", rows.size(), segment.minId(), segment.maxId(), segment.name());
+        } while (rows.size() == ROWS_PER_SEGMENT);
+        return archived;
+    }
+
+    private ArchiveSegment writeSegment(List<TestFormData> rows) {
+        try {
+            return archive.writeSegment(rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write archive segment", e);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.ui.Model;
 
 import com.example.SpringBoot_demoProject.model.TestFormData;
+import com.example.SpringBoot_demoProject.service.DuplicateNameException;
 import com.example.SpringBoot_demoProject.service.TestFormDataService;
 
 import java.util.List;
@@ -77,11 +78,15 @@ public class MainController {
      * Endpoint: POST /save-data
      * @param testFormData The TestFormData object bound from the form submission.
      * @return A redirect instructing the browser to go back to the /add-data page,
-     * with a 'success' parameter appended to the URL.
+     * with a 'success' parameter appended to the URL, or a 'duplicate' parameter if the name already exists.
      */
     @PostMapping("/save-data")
     public String saveFormData(@ModelAttribute TestFormData testFormData) {
-        testFormDataService.saveTestFormData(testFormData); // Delegate saving to the service layer.
+        try {
+            testFormDataService.saveTestFormData(testFormData); // Delegate saving to the service layer.
+        } catch (DuplicateNameException e) {
+            return "redirect:/add-data?duplicate"; // Send the user back to the form with a duplicate-name notice.
+        }
         System.out.println("Saved data: " + testFormData.getName()); // Log the saved data's name to console.
         return "redirect:/add-data?success"; // Redirect to prevent double submission and show success.
     }
@@ -1,15 +1,37 @@
 package com.example.SpringBoot_demoProject.controller;
 
+import com.example.SpringBoot_demoProject.archive.TestFormDataArchive;
+import com.example.SpringBoot_demoProject.dto.ArchiveSegmentInfo;
+import com.example.SpringBoot_demoProject.dto.CsvImportResult;
 import com.example.SpringBoot_demoProject.model.TestFormData;
+import com.example.SpringBoot_demoProject.service.ArchivedDataException;
+import com.example.SpringBoot_demoProject.service.DuplicateNameException;
+import com.example.SpringBoot_demoProject.service.TestFormDataImportService;
 import com.example.SpringBoot_demoProject.service.TestFormDataService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import java.util.List;
 import java.util.Map;
@@ -28,14 +50,27 @@ public class TestFormDataApiController {
 
     // Dependency injection of the service layer.
     private final TestFormDataService testFormDataService;
+    private final TestFormDataImportService testFormDataImportService;
+    private final TestFormDataArchive testFormDataArchive;
+    private final ObjectMapper objectMapper; // Writes the records of streamed (NDJSON) responses.
 
     /**
      * Constructor for TestFormDataApiController.
-     * Spring automatically injects TestFormDataService.
+     * Spring automatically injects TestFormDataService, TestFormDataImportService, TestFormDataArchive
+     * and the application's ObjectMapper.
      * @param testFormDataService The service responsible for business logic related to TestFormData.
+     * @param testFormDataImportService The service responsible for bulk CSV imports.
+     * @param testFormDataArchive The cold-tier archive whose segment files can be exported.
+     * @param objectMapper The JSON mapper used for streamed responses.
      */
-    public TestFormDataApiController(TestFormDataService testFormDataService) {
+    public TestFormDataApiController(TestFormDataService testFormDataService,
+                                     TestFormDataImportService testFormDataImportService,
+                                     TestFormDataArchive testFormDataArchive,
+                                     ObjectMapper objectMapper) {
         this.testFormDataService = testFormDataService;
+        this.testFormDataImportService = testFormDataImportService;
+        this.testFormDataArchive = testFormDataArchive;
+        this.objectMapper = objectMapper;
     }
 
     //------------------------------------------------------------------------------------------------------------------
@@ -44,6 +79,7 @@ public class TestFormDataApiController {
 
     /**
      * Handles GET requests to retrieve all test form data.
+     * Only rows in the live table are returned; archived rows are exported via /api/test-data/archive/segments.
      * Endpoint: GET /api/test-data
      * @return A ResponseEntity containing a list of TestFormData objects and an HTTP 200 OK status.
      */
@@ -55,6 +91,7 @@ public class TestFormDataApiController {
 
     /**
      * Handles GET requests to retrieve a single test form data by its ID.
+     * Archived rows are found as well.
      * Endpoint: GET /api/test-data/{id}
      * @param id The unique identifier of the TestFormData.
      * @return A ResponseEntity containing the TestFormData object and HTTP 200 OK if found,
@@ -68,13 +105,29 @@ public class TestFormDataApiController {
                    .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * Handles HEAD requests to check whether any test form data, live or archived, has the given name.
+     * Endpoint: HEAD /api/test-data/by-name/{name}
+     * Backed by the in-memory name index and the archive's name filters, so most absent names are answered
+     * without a database query or archive scan.
+     * @param name The name to look up.
+     * @return A ResponseEntity with HTTP 200 OK if the name exists, or HTTP 404 Not Found if it does not.
+     */
+    @RequestMapping(value = "/by-name/{name}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> headTestDataByName(@PathVariable String name) {
+        return testFormDataService.nameExists(name)
+                ? ResponseEntity.ok().build()           // 200 OK
+                : ResponseEntity.notFound().build();    // 404 Not Found
+    }
+
     /**
      * Handles POST requests to create new test form data.
      * Endpoint: POST /api/test-data
      * @param testFormData The TestFormData object to be created.
      * The @Valid annotation triggers validation checks defined in TestFormData model.
      * The @RequestBody annotation binds the HTTP request body to the TestFormData object.
-     * @return A ResponseEntity containing the newly created TestFormData object and an HTTP 201 Created status.
+     * @return A ResponseEntity containing the newly created TestFormData object and an HTTP 201 Created status,
+     * or HTTP 409 Conflict if another entry, live or archived, already has the same name.
      */
     @PostMapping
     public ResponseEntity<TestFormData> createTestData(@Valid @RequestBody TestFormData testFormData) {
@@ -89,7 +142,8 @@ public class TestFormDataApiController {
      * @param testFormData The updated TestFormData object from the request body.
      * @return A ResponseEntity containing the updated TestFormData object and HTTP 200 OK if successful,
      * HTTP 400 Bad Request if the ID in the path doesn't match the ID in the body,
-     * or HTTP 404 Not Found if no existing data matches the provided ID.
+     * HTTP 404 Not Found if no existing data matches the provided ID,
+     * or HTTP 409 Conflict if another entry, live or archived, already has the same name or the entry is archived.
      */
     @PutMapping("/{id}")
     public ResponseEntity<TestFormData> updateTestData(@PathVariable Long id, @RequestBody TestFormData testFormData) {
@@ -113,7 +167,8 @@ public class TestFormDataApiController {
      * Endpoint: DELETE /api/test-data/{id}
      * @param id The ID of the TestFormData to be deleted.
      * @return A ResponseEntity with HTTP 204 No Content if deletion is successful,
-     * or HTTP 404 Not Found if the data with the given ID does not exist.
+     * HTTP 404 Not Found if the data with the given ID does not exist,
+     * or HTTP 409 Conflict if the data is archived.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTestData(@PathVariable Long id) {
@@ -125,6 +180,141 @@ public class TestFormDataApiController {
         return ResponseEntity.noContent().build(); // 204 No Content
     }
 
+    //------------------------------------------------------------------------------------------------------------------
+    // Bulk Import
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Handles multipart POST requests to bulk import test form data from a CSV file.
+     * Endpoint: POST /api/test-data/import
+     * The file must have a header row containing a "name" column; other columns are ignored.
+     * Each row is validated against the constraints on TestFormData.name, and invalid rows are
+     * skipped and reported instead of failing the whole import.
+     * The summary is only sent once the whole file is loaded; clients that want progress while a large
+     * file loads should request application/x-ndjson (see {@link #importTestDataWithProgress}).
+     * @param file The uploaded CSV file (form field "file").
+     * @return A ResponseEntity containing a CsvImportResult with accepted/rejected counts and per-line errors
+     * and HTTP 200 OK, or HTTP 400 Bad Request with an error message if the file is empty or has no "name" header.
+     * @throws IOException if the uploaded file cannot be read.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importTestData(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("file", "CSV file must not be empty")); // 400 Bad Request
+        }
+        try (InputStream csv = file.getInputStream()) {
+            CsvImportResult result = testFormDataImportService.importCsv(csv);
+            return ResponseEntity.ok(result); // 200 OK
+        } catch (IllegalArgumentException e) {
+            // Raised for a missing or unusable header row; row-level problems are reported in the result instead.
+            return ResponseEntity.badRequest().body(Map.of("file", e.getMessage())); // 400 Bad Request
+        }
+    }
+
+    /**
+     * Handles multipart POST requests to bulk import test form data from a CSV file, streaming progress.
+     * Endpoint: POST /api/test-data/import with "Accept: application/x-ndjson"
+     * The response is newline-delimited JSON, flushed line by line: a CsvImportProgress record after every
+     * 1000 data lines, then the CsvImportResult as the last line. All rows are committed together once the
+     * file is loaded, so a stream that ends without a CsvImportResult means the import failed and nothing was
+     * saved. Disconnecting aborts and rolls back the import.
+     * @param file The uploaded CSV file (form field "file").
+     * @param response The servlet response the records are written to; HTTP 400 Bad Request with a JSON error
+     * message, before any record is sent, if the file is empty or has no "name" header.
+     * @throws IOException if the uploaded file cannot be read or the response cannot be written.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importTestDataWithProgress(@RequestParam("file") MultipartFile file,
+                                           HttpServletResponse response) throws IOException {
+        if (file.isEmpty()) {
+            writeBadRequest(response, "CSV file must not be empty");
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        try (InputStream csv = file.getInputStream()) {
+            CsvImportResult result = testFormDataImportService.importCsv(csv, progress -> {
+                try {
+                    writeRecord(out, progress);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Client stopped reading import progress", e);
+                }
+            });
+            writeRecord(out, result);
+        } catch (IllegalArgumentException e) {
+            // Raised for a missing or unusable header row, before any progress has been written.
+            writeBadRequest(response, e.getMessage());
+        }
+    }
+
+    private void writeRecord(OutputStream out, Object record) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(record));
+        out.write('\n');
+        out.flush();
+    }
+
+    private void writeBadRequest(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.BAD_REQUEST.value()); // 400 Bad Request
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("file", message));
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    // Archive Export
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Handles GET requests to list the archive segment files.
+     * Endpoint: GET /api/test-data/archive/segments
+     * @return A ResponseEntity containing one ArchiveSegmentInfo per segment, oldest first, and HTTP 200 OK.
+     */
+    @GetMapping("/archive/segments")
+    public ResponseEntity<List<ArchiveSegmentInfo>> getArchiveSegments() {
+        return ResponseEntity.ok(testFormDataArchive.listSegments());
+    }
+
+    /**
+     * Handles GET requests to download one archive segment file unchanged.
+     * Endpoint: GET /api/test-data/archive/segments/{segmentName}
+     * Segments are immutable, so on Tomcat the file is handed to the connector's sendfile support and
+     * copied from the page cache to the socket by the kernel. Otherwise it is streamed with
+     * FileChannel.transferTo.
+     * @param segmentName The segment file name, as returned by the listing endpoint.
+     * @param request The servlet request, used to detect and request sendfile support.
+     * @param response The servlet response the file is written to; HTTP 404 Not Found if there is no such segment.
+     * @throws IOException if the file cannot be read or the response cannot be written.
+     */
+    @GetMapping("/archive/segments/{segmentName}")
+    public void downloadArchiveSegment(@PathVariable String segmentName,
+                                       HttpServletRequest request,
+                                       HttpServletResponse response) throws IOException {
+        Optional<Path> file = testFormDataArchive.findSegmentFile(segmentName);
+        if (file.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value()); // 404 Not Found
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.get(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + segmentName + "\"");
+            response.setContentLengthLong(size);
+
+            if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+                // Tomcat performs the sendfile after this method returns.
+                request.setAttribute("org.apache.tomcat.sendfile.filename", file.get().toAbsolutePath().toString());
+                request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+                request.setAttribute("org.apache.tomcat.sendfile.end", size);
+                return;
+            }
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+
     //------------------------------------------------------------------------------------------------------------------
     // Exception Handling
     //------------------------------------------------------------------------------------------------------------------
@@ -149,4 +339,30 @@ public class TestFormDataApiController {
         });
         return errors;
     }
+
+    /**
+     * Exception handler for duplicate names.
+     * Catches DuplicateNameException thrown by the service when a create or update would reuse an existing name.
+     * @param ex The DuplicateNameException describing the conflicting name.
+     * @return A Map keyed by the "name" field, in the same shape as validation errors.
+     * Returns with an HTTP 409 Conflict status.
+     */
+    @ExceptionHandler(DuplicateNameException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> handleDuplicateNameException(DuplicateNameException ex) {
+        return Map.of("name", ex.getMessage());
+    }
+
+    /**
+     * Exception handler for changes to archived data.
+     * Catches ArchivedDataException thrown by the service when an update or delete targets an archived row.
+     * @param ex The ArchivedDataException describing the archived row.
+     * @return A Map keyed by the "id" field with the error message.
+     * Returns with an HTTP 409 Conflict status.
+     */
+    @ExceptionHandler(ArchivedDataException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> handleArchivedDataException(ArchivedDataException ex) {
+        return Map.of("id", ex.getMessage());
+    }
 }
\ No newline at end of file
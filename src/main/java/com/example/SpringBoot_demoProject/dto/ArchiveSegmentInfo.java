@@ -0,0 +1,13 @@
+package com.example.SpringBoot_demoProject.dto;
+
+/**
+ * Describes one archive segment file, as listed by GET /api/test-data/archive/segments.
+ *
+ * @param name      The segment file name, used to download it.
+ * @param rowCount  The number of archived rows in the segment.
+ * @param minId     The lowest archived row ID in the segment.
+ * @param maxId     The highest archived row ID in the segment.
+ * @param sizeBytes The compressed file size.
+ */
+public record ArchiveSegmentInfo(String name, long rowCount, long minId, long maxId, long sizeBytes) {
+}
@@ -0,0 +1,13 @@
+package com.example.SpringBoot_demoProject.dto;
+
+/**
+ * Interim counts of a running bulk CSV import, streamed by POST /api/test-data/import
+ * when the client accepts {@code application/x-ndjson}.
+ * Rows are committed only when the import finishes, so accepted rows are not yet visible to other clients.
+ *
+ * @param linesProcessed The number of data lines read so far (header and empty lines excluded).
+ * @param accepted       The number of rows written so far; rows awaiting a duplicate check are not counted yet.
+ * @param rejected       The number of rows rejected so far.
+ */
+public record CsvImportProgress(long linesProcessed, long accepted, long rejected) {
+}
@@ -0,0 +1,30 @@
+package com.example.SpringBoot_demoProject.dto;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk CSV import into the TestFormData table.
+ * Returned by POST /api/test-data/import once the whole file has been streamed and loaded.
+ *
+ * @param loader          The loading strategy that was used ("postgres-copy" or "jdbc-batch").
+ * @param linesProcessed  The number of data lines read from the file (header and empty lines excluded).
+ * @param accepted        The number of rows that passed validation and were written to the database.
+ * @param rejected        The number of rows that failed parsing or validation and were skipped.
+ * @param errors          Per-line errors, capped so that a badly broken file cannot exhaust memory.
+ * @param errorsTruncated True if more rows were rejected than are listed in {@code errors}.
+ */
+public record CsvImportResult(String loader,
+                              long linesProcessed,
+                              long accepted,
+                              long rejected,
+                              List<LineError> errors,
+                              boolean errorsTruncated) {
+
+    /**
+     * Describes why a single CSV line was rejected.
+     * @param line    The 1-based physical line number in the uploaded file (the header is line 1).
+     * @param message The parse or validation error for that line.
+     */
+    public record LineError(long line, String message) {
+    }
+}
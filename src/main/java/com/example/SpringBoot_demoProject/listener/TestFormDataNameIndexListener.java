@@ -0,0 +1,87 @@
+package com.example.SpringBoot_demoProject.listener;
+
+import com.example.SpringBoot_demoProject.archive.TestFormDataArchivedEvent;
+import com.example.SpringBoot_demoProject.model.TestFormData;
+import com.example.SpringBoot_demoProject.service.TestFormDataNameIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Hibernate event listener that keeps {@link TestFormDataNameIndex} in step with every TestFormData write,
+ * whichever service or repository performs it. It registers itself with Hibernate at startup, so the
+ * entity does not need to reference it. Rows removed by the archiver's plain SQL arrive as
+ * {@link TestFormDataArchivedEvent}s instead.
+ */
+@Component
+public class TestFormDataNameIndexListener
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TestFormDataNameIndex nameIndex;
+
+    public TestFormDataNameIndexListener(EntityManagerFactory entityManagerFactory, TestFormDataNameIndex nameIndex) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.nameIndex = nameIndex;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof TestFormData testFormData) {
+            nameIndex.add(testFormData.getName());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof TestFormData testFormData) {
+            int nameProperty = event.getPersister().getEntityMetamodel().getPropertyIndex("name");
+            Object[] oldState = event.getOldState();
+            if (oldState == null || !Objects.equals(oldState[nameProperty], testFormData.getName())) {
+                nameIndex.add(testFormData.getName());
+                nameIndex.recordRemovals(1); // The previous name is now stale.
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof TestFormData) {
+            nameIndex.recordRemovals(1);
+        }
+    }
+
+    @EventListener
+    public void onArchived(TestFormDataArchivedEvent event) {
+        nameIndex.recordRemovals(event.rowCount()); // Archived names leave the live table.
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+}
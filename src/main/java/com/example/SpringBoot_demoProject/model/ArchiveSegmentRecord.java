@@ -0,0 +1,35 @@
+package com.example.SpringBoot_demoProject.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Marks an archive segment whose rows have been deleted from the live table.
+ * The record is inserted in the same transaction as that delete, so a segment file without one belongs to an
+ * archival run that never committed. Mapped so that Hibernate creates the table; it is read and written with
+ * plain SQL by {@link com.example.SpringBoot_demoProject.archive.TestFormDataArchive}.
+ */
+@Entity
+@Table(name = "test_form_data_archive_segment")
+public class ArchiveSegmentRecord {
+
+    @Id // The segment file name, which is unique within the archive directory.
+    @Column(length = 100)
+    private String name;
+
+    /**
+     * Default constructor. Required by JPA for entity instantiation.
+     */
+    protected ArchiveSegmentRecord() {
+    }
+
+    /**
+     * Retrieves the file name of the committed segment.
+     * @return The segment file name.
+     */
+    public String getName() {
+        return name;
+    }
+}
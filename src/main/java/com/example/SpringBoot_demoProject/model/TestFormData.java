@@ -1,19 +1,26 @@
 package com.example.SpringBoot_demoProject.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Column;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import java.time.Instant;
+
 /**
  * Represents the data structure for a test form,
  * mapping directly to a database table using JPA (Java Persistence API).
  * This class defines the fields and their constraints for form submissions.
  */
 @Entity // Marks this class as a JPA entity, indicating it corresponds to a database table.
+@Table(indexes = @Index(name = "idx_test_form_data_name", columnList = "name")) // Backs exact duplicate-name checks.
 public class TestFormData {
 
     @Id // Designates 'id' as the primary key of the entity.
@@ -25,6 +32,11 @@ public class TestFormData {
     @Column(nullable = false) // Maps 'name' to a database column, ensuring it's not nullable at the DB level.
     private String name;
 
+    // Set once on insert; drives cold-tier archival. Nullable so existing tables can gain the column in place.
+    @Column(name = "created_at", updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY) // Clients cannot backdate rows.
+    private Instant createdAt;
+
     /**
      * Default constructor. Required by JPA for entity instantiation.
      */
@@ -89,6 +101,35 @@ public class TestFormData {
         this.name = name;
     }
 
+    /**
+     * Retrieves the time the form data was first stored.
+     * @return The creation timestamp, or null for rows stored before the column existed.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Sets the creation timestamp.
+     * This is typically used when reconstructing archived rows; new entities get it from {@link #onCreate()}.
+     * @param createdAt The creation timestamp to set.
+     */
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    // Lifecycle Callbacks
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Stamps the creation time just before the entity is first inserted.
+     */
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+    }
+
     //------------------------------------------------------------------------------------------------------------------
     // Utility Methods
     //------------------------------------------------------------------------------------------------------------------
@@ -96,13 +137,14 @@ public class TestFormData {
     /**
      * Provides a string representation of the TestFormData object.
      * Useful for logging and debugging purposes.
-     * @return A string containing the ID and name of the TestFormData.
+     * @return A string containing the ID, name and creation time of the TestFormData.
      */
     @Override
     public String toString() {
         return "TestFormData{" +
                "id=" + id +
                ", name='" + name + '\'' +
+               ", createdAt=" + createdAt +
                '}';
     }
 }
\ No newline at end of file
@@ -7,4 +7,9 @@ import org.springframework.stereotype.Repository;
 @Repository // Marks this interface as a Spring Data repository
 public interface TestFormDataRepository extends JpaRepository<TestFormData, Long> {
     // JpaRepository provides methods like save(), findAll(), findById(), delete() automatically
-}
\ No newline at end of file
+
+    // Exact duplicate checks, only issued after the in-memory name index reports a possible match.
+    boolean existsByName(String name);
+
+    boolean existsByNameAndIdNot(String name, Long id);
+}
@@ -0,0 +1,12 @@
+package com.example.SpringBoot_demoProject.service;
+
+/**
+ * Thrown when trying to update or delete a TestFormData row that has been moved to the archive.
+ * Archived rows are read-only.
+ */
+public class ArchivedDataException extends RuntimeException {
+
+    public ArchivedDataException(Long id) {
+        super("TestFormData with id " + id + " is archived and read-only");
+    }
+}
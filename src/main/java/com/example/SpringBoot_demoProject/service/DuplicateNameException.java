@@ -0,0 +1,18 @@
+package com.example.SpringBoot_demoProject.service;
+
+/**
+ * Thrown when saving a TestFormData whose name is already used by another row.
+ */
+public class DuplicateNameException extends RuntimeException {
+
+    private final String name;
+
+    public DuplicateNameException(String name) {
+        super("Name '" + name + "' already exists");
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
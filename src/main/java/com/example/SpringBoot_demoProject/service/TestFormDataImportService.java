@@ -0,0 +1,30 @@
+package com.example.SpringBoot_demoProject.service;
+
+import com.example.SpringBoot_demoProject.dto.CsvImportProgress;
+import com.example.SpringBoot_demoProject.dto.CsvImportResult;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface TestFormDataImportService {
+
+     /**
+      * Streams a CSV file with a header row containing a {@code name} column into the TestFormData table.
+      * Invalid rows, including names that already exist (live or archived) or repeat within the file, are skipped and reported;
+      * valid rows are loaded in a single transaction.
+      * @param csv The CSV content, read once and never buffered in full.
+      * @return A summary of accepted and rejected rows.
+      * @throws IllegalArgumentException if the header row is missing or has no {@code name} column.
+      */
+     CsvImportResult importCsv(InputStream csv);
+
+     /**
+      * Same as {@link #importCsv(InputStream)}, reporting interim counts while the file is read.
+      * @param csv The CSV content, read once and never buffered in full.
+      * @param progressListener Called on the importing thread after every batch of data lines; an exception
+      *                         it throws aborts the import and rolls it back.
+      * @return A summary of accepted and rejected rows.
+      * @throws IllegalArgumentException if the header row is missing or has no {@code name} column;
+      *                                  thrown before the listener is first called.
+      */
+     CsvImportResult importCsv(InputStream csv, Consumer<CsvImportProgress> progressListener);
+}
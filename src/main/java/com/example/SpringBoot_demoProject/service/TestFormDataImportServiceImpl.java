@@ -0,0 +1,553 @@
+package com.example.SpringBoot_demoProject.service;
+
+import com.example.SpringBoot_demoProject.archive.TestFormDataArchive;
+import com.example.SpringBoot_demoProject.dto.CsvImportProgress;
+import com.example.SpringBoot_demoProject.dto.CsvImportResult;
+import com.example.SpringBoot_demoProject.model.TestFormData;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk CSV loader for TestFormData.
+ * The file is read line by line and only a bounded batch of rows is held in memory; lines longer than
+ * {@link #MAX_LINE_LENGTH} are skipped and reported instead of being read in full.
+ * On PostgreSQL rows are streamed with a single {@code COPY ... FROM STDIN}; on any other database
+ * (e.g. H2 in the "test" profile) they are written with JDBC batch inserts.
+ * <p>
+ * Names that already exist, live or archived, or repeat within the file, are rejected. Each name is first
+ * checked against {@link TestFormDataNameIndex} and the archive's name filters: a miss in both is written
+ * straight away, while a possible match is set aside and confirmed together with up to {@link #BATCH_SIZE}
+ * others in one {@code name = ANY(?)} query and one pass over the archive. Only then is the COPY interrupted,
+ * so an import of mostly new names streams through one uninterrupted COPY.
+ */
+@Service
+public class TestFormDataImportServiceImpl implements TestFormDataImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TestFormDataImportServiceImpl.class);
+
+    static final int BATCH_SIZE = 1000; // Rows buffered per write, and possible duplicates confirmed per query.
+    static final int MAX_REPORTED_ERRORS = 1000; // Cap on per-line errors kept in the result.
+    static final int MAX_LINE_LENGTH = 4096; // Characters kept per line; names are at most 100 characters.
+
+    private static final String COPY_SQL = "COPY test_form_data (name, created_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT_SQL = "INSERT INTO test_form_data (name, created_at) VALUES (?, ?)";
+    private static final String EXISTING_NAMES_SQL = "SELECT name FROM test_form_data WHERE name = ANY(?)";
+    private static final String DUPLICATE_NAME = "Name already exists";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final TestFormDataNameIndex nameIndex;
+    private final TestFormDataArchive archive;
+
+    public TestFormDataImportServiceImpl(JdbcTemplate jdbcTemplate, Validator validator,
+                                         TestFormDataNameIndex nameIndex, TestFormDataArchive archive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.nameIndex = nameIndex;
+        this.archive = archive;
+    }
+
+    @Override
+    @Transactional // All accepted rows are committed together, or none at all if the load fails.
+    public CsvImportResult importCsv(InputStream csv) {
+        return importCsv(csv, progress -> { });
+    }
+
+    @Override
+    @Transactional
+    public CsvImportResult importCsv(InputStream csv, Consumer<CsvImportProgress> progressListener) {
+        Instant createdAt = Instant.now(); // Every row of one import shares its creation time.
+        return jdbcTemplate.execute((ConnectionCallback<CsvImportResult>) connection -> {
+            RowSink sink = connection.isWrapperFor(PGConnection.class)
+                    ? new CopyRowSink(connection.unwrap(PGConnection.class).getCopyAPI(), createdAt)
+                    : new BatchRowSink(connection, createdAt);
+            try (LineReader reader = new LineReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+                return new Load(connection, sink, progressListener).run(reader);
+            } catch (IOException e) {
+                sink.abort();
+                throw new UncheckedIOException("Failed to read CSV upload", e);
+            } catch (SQLException | RuntimeException e) {
+                sink.abort();
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * State of one import run.
+     */
+    private final class Load {
+        private final Connection connection;
+        private final RowSink sink;
+        private final Consumer<CsvImportProgress> progressListener;
+        private final List<CsvImportResult.LineError> errors = new ArrayList<>();
+        private final List<Candidate> candidates = new ArrayList<>(); // Possible duplicates awaiting confirmation.
+        private long processed;
+        private long accepted;
+        private long rejected;
+        private long negativeLookups;
+        private long truePositiveLookups;
+        private long falsePositiveLookups;
+
+        Load(Connection connection, RowSink sink, Consumer<CsvImportProgress> progressListener) {
+            this.connection = connection;
+            this.sink = sink;
+            this.progressListener = progressListener;
+        }
+
+        CsvImportResult run(LineReader reader) throws IOException, SQLException {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty; expected a header row with a 'name' column");
+            }
+            if (reader.lineTooLong()) {
+                throw new IllegalArgumentException("CSV header row exceeds " + MAX_LINE_LENGTH + " characters");
+            }
+            int nameColumn = findNameColumn(header);
+
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue; // Tolerate blank separator/trailing lines.
+                }
+                processed++;
+                if (reader.lineTooLong()) {
+                    reject(lineNumber, "Line exceeds " + MAX_LINE_LENGTH + " characters");
+                } else {
+                    processLine(lineNumber, line, nameColumn);
+                }
+                if (processed % BATCH_SIZE == 0) {
+                    log.info("CSV import progress: {} lines processed, {} accepted, {} rejected",
+                            processed, accepted, rejected);
+                    progressListener.accept(new CsvImportProgress(processed, accepted, rejected));
+                }
+            }
+            resolveCandidates();
+            sink.finish();
+            nameIndex.recordLookupOutcomes(negativeLookups, truePositiveLookups, falsePositiveLookups);
+
+            errors.sort(Comparator.comparingLong(CsvImportResult.LineError::line));
+            log.info("CSV import finished via {}: {} lines processed, {} accepted, {} rejected",
+                    sink.name(), processed, accepted, rejected);
+            return new CsvImportResult(sink.name(), processed, accepted, rejected, errors, rejected > errors.size());
+        }
+
+        private void processLine(long lineNumber, String line, int nameColumn) throws SQLException {
+            List<String> fields;
+            try {
+                fields = parseLine(line);
+            } catch (IllegalArgumentException e) {
+                reject(lineNumber, e.getMessage());
+                return;
+            }
+            if (nameColumn >= fields.size()) {
+                reject(lineNumber, "Missing 'name' column");
+                return;
+            }
+            String name = fields.get(nameColumn);
+            String error = validateName(name);
+            if (error != null) {
+                reject(lineNumber, error);
+                return;
+            }
+            boolean indexHit = nameIndex.mightContain(name);
+            if (indexHit || archive.mightContainName(name)) {
+                // Already stored, repeated earlier in this file, or a false positive: confirm later in bulk.
+                candidates.add(new Candidate(lineNumber, name, indexHit));
+                if (candidates.size() == BATCH_SIZE) {
+                    resolveCandidates();
+                }
+                return;
+            }
+            negativeLookups++;
+            write(name);
+        }
+
+        // Confirms all pending candidates with one query. Rows written so far are made visible first,
+        // so repeats of names from earlier in the file are found as well.
+        private void resolveCandidates() throws SQLException {
+            if (candidates.isEmpty()) {
+                return;
+            }
+            sink.release();
+            Set<String> names = candidates.stream().map(Candidate::name).collect(Collectors.toSet());
+            Set<String> existing = existingNames(names.toArray());
+            Set<String> archived = archive.findNames(names);
+            Set<String> acceptedHere = new HashSet<>();
+            for (Candidate candidate : candidates) {
+                boolean live = existing.contains(candidate.name()) || acceptedHere.contains(candidate.name());
+                if (!candidate.indexHit()) {
+                    negativeLookups++; // Only the archive's filters matched.
+                } else if (live) {
+                    truePositiveLookups++;
+                } else {
+                    falsePositiveLookups++;
+                }
+                if (live || archived.contains(candidate.name())) {
+                    reject(candidate.line(), DUPLICATE_NAME);
+                } else {
+                    acceptedHere.add(candidate.name());
+                    write(candidate.name());
+                }
+            }
+            candidates.clear();
+        }
+
+        private Set<String> existingNames(Object[] names) throws SQLException {
+            Set<String> existing = new HashSet<>();
+            try (PreparedStatement statement = connection.prepareStatement(EXISTING_NAMES_SQL)) {
+                statement.setArray(1, connection.createArrayOf("varchar", names));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        existing.add(resultSet.getString(1));
+                    }
+                }
+            }
+            return existing;
+        }
+
+        private void write(String name) throws SQLException {
+            sink.add(name);
+            nameIndex.add(name); // The filter grows new stages as needed, so large imports do not saturate it.
+            accepted++;
+        }
+
+        private void reject(long lineNumber, String error) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new CsvImportResult.LineError(lineNumber, error));
+            }
+        }
+    }
+
+    private record Candidate(long line, String name, boolean indexHit) {
+    }
+
+    /**
+     * Validates one name.
+     * @return null if the name is valid, otherwise the reason it was rejected.
+     */
+    private String validateName(String name) {
+        // Reuses the @NotBlank/@Size constraints declared on TestFormData.name without building an entity.
+        Set<ConstraintViolation<TestFormData>> violations = validator.validateValue(TestFormData.class, "name", name);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return null;
+    }
+
+    private static int findNameColumn(String header) {
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1); // Strip the UTF-8 byte order mark some spreadsheet exports add.
+        }
+        List<String> columns = parseLine(header);
+        for (int i = 0; i < columns.size(); i++) {
+            if ("name".equalsIgnoreCase(columns.get(i).trim())) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("CSV header must contain a 'name' column");
+    }
+
+    /**
+     * Splits a single CSV line into fields (RFC 4180 quoting; embedded line breaks are not supported).
+     * A quote is only allowed at the start of a field, so both halves of a quoted field that was broken
+     * across lines are rejected rather than imported as fragments.
+     * @throws IllegalArgumentException if the line has an unterminated or misplaced quote.
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean afterQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                        afterQuoted = true;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                afterQuoted = false;
+            } else if (afterQuoted) {
+                throw new IllegalArgumentException("Malformed CSV: unexpected character after closing quote");
+            } else if (c == '"') {
+                if (!field.isEmpty()) {
+                    throw new IllegalArgumentException("Malformed CSV: quote inside an unquoted field");
+                }
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Malformed CSV: unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Reads lines like {@link java.io.BufferedReader#readLine()}, but never holds more than
+     * {@link #MAX_LINE_LENGTH} characters of one line: the rest of a longer line is read and discarded,
+     * so a file without line breaks cannot exhaust memory.
+     */
+    static final class LineReader implements AutoCloseable {
+        private final Reader in;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean skipLineFeed; // The previous line ended with '\r'; a following '\n' belongs to it.
+        private boolean tooLong;
+
+        LineReader(Reader in) {
+            this.in = in;
+        }
+
+        /**
+         * @return The next line without its terminator, cut to {@link #MAX_LINE_LENGTH} characters,
+         * or null at the end of the input.
+         */
+        String readLine() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            boolean any = false;
+            while (true) {
+                if (position == limit) {
+                    limit = in.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return any ? line.toString() : null;
+                    }
+                }
+                char c = buffer[position++];
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (c == '\n') {
+                        continue;
+                    }
+                }
+                any = true;
+                if (c == '\n' || c == '\r') {
+                    skipLineFeed = c == '\r';
+                    return line.toString();
+                }
+                if (line.length() < MAX_LINE_LENGTH) {
+                    line.append(c);
+                } else {
+                    tooLong = true;
+                }
+            }
+        }
+
+        /**
+         * @return true if the line last returned by {@link #readLine()} was cut short.
+         */
+        boolean lineTooLong() {
+            return tooLong;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    // Loading strategies
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Destination for accepted names. Implementations buffer at most one batch of rows.
+     */
+    private interface RowSink {
+        String name();
+
+        void add(String value) throws SQLException;
+
+        /**
+         * Writes everything added so far and leaves the connection free for other statements.
+         */
+        void release() throws SQLException;
+
+        void finish() throws SQLException;
+
+        void abort();
+    }
+
+    /**
+     * Streams rows over the PostgreSQL COPY protocol. The COPY is opened on the first write and stays
+     * open until {@link #release()} is needed to run a query on the connection.
+     */
+    private static final class CopyRowSink implements RowSink {
+        private final CopyManager copyManager;
+        private final String createdAt;
+        private final StringBuilder buffer = new StringBuilder();
+        private int buffered;
+        private CopyIn copyIn; // Non-null while a COPY is open.
+
+        CopyRowSink(CopyManager copyManager, Instant createdAt) {
+            this.copyManager = copyManager;
+            this.createdAt = createdAt.toString(); // ISO-8601 UTC, which PostgreSQL parses as timestamptz.
+        }
+
+        @Override
+        public String name() {
+            return "postgres-copy";
+        }
+
+        @Override
+        public void add(String value) throws SQLException {
+            buffer.append('"').append(value.replace("\"", "\"\"")).append("\",").append(createdAt).append('\n');
+            if (++buffered == BATCH_SIZE) {
+                writeBuffer();
+            }
+        }
+
+        private void writeBuffer() throws SQLException {
+            if (buffered == 0) {
+                return;
+            }
+            if (copyIn == null) {
+                copyIn = copyManager.copyIn(COPY_SQL);
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+            buffered = 0;
+        }
+
+        @Override
+        public void release() throws SQLException {
+            writeBuffer();
+            if (copyIn != null) {
+                copyIn.endCopy();
+                copyIn = null;
+            }
+        }
+
+        @Override
+        public void finish() throws SQLException {
+            release();
+        }
+
+        @Override
+        public void abort() {
+            if (copyIn != null && copyIn.isActive()) {
+                try {
+                    copyIn.cancelCopy();
+                } catch (SQLException e) {
+                    log.warn("Failed to cancel COPY after import error", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Portable fallback that writes rows with JDBC batch inserts.
+     */
+    private static final class BatchRowSink implements RowSink {
+        private final Connection connection;
+        private final Timestamp createdAt;
+        private PreparedStatement statement;
+        private int pending;
+
+        BatchRowSink(Connection connection, Instant createdAt) {
+            this.connection = connection;
+            this.createdAt = Timestamp.from(createdAt);
+        }
+
+        @Override
+        public String name() {
+            return "jdbc-batch";
+        }
+
+        @Override
+        public void add(String value) throws SQLException {
+            if (statement == null) {
+                statement = connection.prepareStatement(INSERT_SQL);
+            }
+            statement.setString(1, value);
+            statement.setTimestamp(2, createdAt);
+            statement.addBatch();
+            if (++pending == BATCH_SIZE) {
+                release();
+            }
+        }
+
+        @Override
+        public void release() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void finish() throws SQLException {
+            release();
+            closeStatement();
+        }
+
+        @Override
+        public void abort() {
+            closeStatement();
+        }
+
+        private void closeStatement() {
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    log.warn("Failed to close batch insert statement", e);
+                }
+                statement = null;
+            }
+        }
+    }
+}
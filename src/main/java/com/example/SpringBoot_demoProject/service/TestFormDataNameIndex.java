@@ -0,0 +1,277 @@
+package com.example.SpringBoot_demoProject.service;
+
+import com.example.SpringBoot_demoProject.util.ScalableNameBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory existence index over the names of live TestFormData rows, backed by a {@link ScalableNameBloomFilter}.
+ * Archived names are checked separately by {@link com.example.SpringBoot_demoProject.archive.TestFormDataArchive}.
+ * It is consulted before any duplicate-name database lookup: a negative answer is final and skips the
+ * database entirely, a positive answer is confirmed with an exact query.
+ * The filter is loaded by {@link TestFormDataNameIndexLoader} and kept current by
+ * {@link com.example.SpringBoot_demoProject.listener.TestFormDataNameIndexListener} and the bulk importer.
+ * <p>
+ * A rebuild must not lose names whose rows are written but not yet committed, since its table scan cannot
+ * see them. Every transaction that adds a name is therefore tracked until it completes, tagged with the
+ * rebuild epoch it started in. A rebuild starts a new epoch, sends all further names to both filters, and
+ * only scans the table once every transaction from earlier epochs has finished; if that does not happen
+ * within the quiesce timeout (e.g. during a long CSV import) the rebuild is skipped and retried later.
+ */
+@Component
+public class TestFormDataNameIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TestFormDataNameIndex.class);
+
+    static final long MIN_CAPACITY = 10_000; // Smallest filter ever built, so an empty table still leaves headroom.
+    static final int MAX_STAGES = 4; // Rebuild into one right-sized stage once the filter has grown this much.
+
+    private final double falsePositiveProbability;
+    private final Duration quiesceTimeout;
+    private final AtomicLong staleEntries = new AtomicLong(); // Deleted or renamed names still set in the filter.
+    private final Object writerKey = new Object(); // Transaction resource marking an already registered writer.
+    private final Map<Long, AtomicInteger> openWritersByEpoch = new ConcurrentHashMap<>();
+
+    // Held for reading while a name is added, and for writing while a rebuild switches filters or epochs,
+    // so an add always lands in every filter that is live at that moment.
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile ScalableNameBloomFilter filter;
+    private ScalableNameBloomFilter rebuilding; // Receives writes while a rebuild runs. Guarded by swapLock.
+    private long epoch; // Guarded by swapLock.
+    private volatile boolean loaded; // False until the first rebuild; until then every lookup goes to the database.
+
+    private final Counter negativeLookups;
+    private final Counter truePositiveLookups;
+    private final Counter falsePositiveLookups;
+
+    public TestFormDataNameIndex(MeterRegistry meterRegistry,
+                                 @Value("${test-data.name-index.false-positive-probability:0.01}") double falsePositiveProbability,
+                                 @Value("${test-data.name-index.rebuild-quiesce-timeout:PT30S}") Duration quiesceTimeout) {
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.quiesceTimeout = quiesceTimeout;
+        this.filter = new ScalableNameBloomFilter(MIN_CAPACITY, falsePositiveProbability);
+
+        Gauge.builder("test_form_data.name_index.expected_fpp", this, index -> index.filter.expectedFalsePositiveProbability())
+                .description("Estimated false-positive probability of the name Bloom filter, from its fill ratio")
+                .register(meterRegistry);
+        Gauge.builder("test_form_data.name_index.observed_fpp", this, TestFormDataNameIndex::observedFalsePositiveRate)
+                .description("Share of absent names the filter wrongly reported as possibly present")
+                .register(meterRegistry);
+        Gauge.builder("test_form_data.name_index.memory", this, index -> index.filter.memoryBytes())
+                .baseUnit(BaseUnits.BYTES)
+                .description("Size of the name Bloom filter bit arrays")
+                .register(meterRegistry);
+        Gauge.builder("test_form_data.name_index.entries", this, index -> index.filter.insertions())
+                .description("Names added to the filter since it was last rebuilt")
+                .register(meterRegistry);
+        Gauge.builder("test_form_data.name_index.stale_entries", staleEntries, AtomicLong::get)
+                .description("Deleted or updated names that may still be set in the filter")
+                .register(meterRegistry);
+
+        this.negativeLookups = lookupCounter(meterRegistry, "negative");
+        this.truePositiveLookups = lookupCounter(meterRegistry, "true_positive");
+        this.falsePositiveLookups = lookupCounter(meterRegistry, "false_positive");
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("test_form_data.name_index.lookups")
+                .description("Name existence checks, by filter outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether a name exists, hitting the database only if the filter reports a possible match.
+     * Lookups that exclude the caller's own row (updates) count a self-match as a false positive.
+     * @param name The name to check.
+     * @param databaseLookup The exact check to run when the filter cannot rule the name out.
+     * @return true if the database confirms the name exists.
+     */
+    public boolean exists(String name, Predicate<String> databaseLookup) {
+        if (!mightContain(name)) {
+            negativeLookups.increment();
+            return false;
+        }
+        boolean found = databaseLookup.test(name);
+        (found ? truePositiveLookups : falsePositiveLookups).increment();
+        return found;
+    }
+
+    /**
+     * Records the outcomes of checks the caller confirmed itself, e.g. in bulk during an import.
+     * @param negative Names the filter ruled out.
+     * @param truePositive Possible matches the database confirmed.
+     * @param falsePositive Possible matches the database did not confirm.
+     */
+    public void recordLookupOutcomes(long negative, long truePositive, long falsePositive) {
+        negativeLookups.increment(negative);
+        truePositiveLookups.increment(truePositive);
+        falsePositiveLookups.increment(falsePositive);
+    }
+
+    /**
+     * Checks the filter alone, without a database fallback or metrics.
+     * @param name The name to check.
+     * @return false if the name is definitely not stored, true if it possibly is (always true before the first load).
+     */
+    public boolean mightContain(String name) {
+        return !loaded || filter.mightContain(name);
+    }
+
+    /**
+     * Records a newly written name. Called for every insert or update, including bulk loads.
+     * Must be called inside the writing transaction, if there is one, so a rebuild can wait for it.
+     * @param name The stored name.
+     */
+    public void add(String name) {
+        swapLock.readLock().lock();
+        try {
+            registerWriter();
+            filter.put(name);
+            if (rebuilding != null) {
+                rebuilding.put(name);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // Tracks the current transaction, once, until it commits or rolls back. Without a transaction the
+    // write is auto-committed already and visible to any later scan.
+    private void registerWriter() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(writerKey)) {
+            return;
+        }
+        AtomicInteger writers = openWritersByEpoch.computeIfAbsent(epoch, key -> new AtomicInteger());
+        writers.incrementAndGet();
+        TransactionSynchronizationManager.bindResource(writerKey, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(writerKey);
+                writers.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Notes that a name may have been removed. Bloom filters cannot delete, so the bit pattern stays
+     * until the next rebuild; this only feeds the staleness check.
+     * @param count The number of names removed.
+     */
+    public void recordRemovals(long count) {
+        staleEntries.addAndGet(count);
+    }
+
+    /**
+     * @return true if the filter was never loaded, has grown past {@link #MAX_STAGES} stages,
+     * or more than a quarter of its entries are stale.
+     */
+    public boolean needsRebuild() {
+        ScalableNameBloomFilter current = filter;
+        return !loaded
+                || current.stageCount() >= MAX_STAGES
+                || staleEntries.get() > current.insertions() / 4;
+    }
+
+    /**
+     * Replaces the filter with a fresh one sized for the given number of names.
+     * Names written while the rebuild runs are added to both the old and the new filter, and the table is
+     * only scanned once every write transaction that started before the rebuild has completed.
+     * @param currentNames The approximate number of names currently stored, used to size the new filter.
+     * @param loader Fills the new filter with every stored name; called at most once.
+     * @return true if the filter was replaced, false if earlier writers did not finish within the quiesce timeout.
+     * @throws InterruptedException if interrupted while waiting for earlier writers.
+     */
+    public synchronized boolean rebuild(long currentNames, Consumer<ScalableNameBloomFilter> loader)
+            throws InterruptedException {
+        ScalableNameBloomFilter next = new ScalableNameBloomFilter(
+                Math.max(MIN_CAPACITY, currentNames * 2), falsePositiveProbability);
+        long previousEpoch;
+        swapLock.writeLock().lock();
+        try {
+            previousEpoch = epoch++;
+            rebuilding = next;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        boolean replaced = false;
+        try {
+            if (!awaitWritersBefore(previousEpoch)) {
+                log.info("Skipped name index rebuild: write transactions still open after {}", quiesceTimeout);
+                return false;
+            }
+            long staleBeforeScan = staleEntries.get();
+            loader.accept(next);
+
+            swapLock.writeLock().lock();
+            try {
+                filter = next;
+                staleEntries.addAndGet(-staleBeforeScan);
+                loaded = true;
+                replaced = true;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        } finally {
+            swapLock.writeLock().lock();
+            try {
+                rebuilding = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+        log.info("Rebuilt name index: {} names, {} bytes, expected false-positive probability {}",
+                next.insertions(), next.memoryBytes(), next.expectedFalsePositiveProbability());
+        return replaced;
+    }
+
+    private boolean awaitWritersBefore(long lastEpoch) throws InterruptedException {
+        long deadline = System.nanoTime() + quiesceTimeout.toNanos();
+        while (true) {
+            boolean open = false;
+            for (Map.Entry<Long, AtomicInteger> entry : openWritersByEpoch.entrySet()) {
+                if (entry.getKey() <= lastEpoch) {
+                    if (entry.getValue().get() > 0) {
+                        open = true;
+                    } else {
+                        openWritersByEpoch.remove(entry.getKey(), entry.getValue()); // No new writers join old epochs.
+                    }
+                }
+            }
+            if (!open) {
+                return true;
+            }
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private double observedFalsePositiveRate() {
+        double falsePositives = falsePositiveLookups.count();
+        double absent = falsePositives + negativeLookups.count();
+        return absent == 0 ? 0 : falsePositives / absent;
+    }
+}
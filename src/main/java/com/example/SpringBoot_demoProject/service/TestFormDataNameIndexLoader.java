@@ -0,0 +1,68 @@
+package com.example.SpringBoot_demoProject.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+/**
+ * Loads {@link TestFormDataNameIndex} from the database at startup, and rebuilds it when it has
+ * grown through several stages or accumulated too many deleted names. A rebuild that cannot run
+ * because write transactions are still open (see {@link TestFormDataNameIndex#rebuild}) is retried
+ * on the next scheduled check.
+ */
+@Component
+public class TestFormDataNameIndexLoader {
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM test_form_data";
+    private static final String NAMES_SQL = "SELECT name FROM test_form_data";
+
+    private final TestFormDataNameIndex nameIndex;
+    private final JdbcTemplate jdbcTemplate;
+
+    public TestFormDataNameIndexLoader(TestFormDataNameIndex nameIndex, DataSource dataSource) {
+        this.nameIndex = nameIndex;
+        // Dedicated template with a fetch size so PostgreSQL streams the scan with a cursor instead of
+        // materialising every name at once (requires the surrounding transaction).
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadOnStartup() throws InterruptedException {
+        doRebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${test-data.name-index.rebuild-check-interval:PT1M}")
+    @Transactional(readOnly = true)
+    public void rebuildIfNeeded() throws InterruptedException {
+        if (nameIndex.needsRebuild()) {
+            doRebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the index unconditionally.
+     * @return true if the filter was replaced, false if open write transactions made the rebuild skip.
+     * @throws InterruptedException if interrupted while waiting for open write transactions.
+     */
+    @Transactional(readOnly = true)
+    public boolean rebuild() throws InterruptedException {
+        return doRebuild();
+    }
+
+    // Runs in read-committed isolation (the default), so the scan sees every transaction that finished
+    // before it started, even though the count ran earlier in the same transaction.
+    private boolean doRebuild() throws InterruptedException {
+        Long rows = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        return nameIndex.rebuild(rows == null ? 0 : rows,
+                filter -> jdbcTemplate.query(NAMES_SQL, resultSet -> {
+                    filter.put(resultSet.getString(1));
+                }));
+    }
+}
@@ -13,4 +13,6 @@ public interface TestFormDataService {
      Optional<TestFormData> getTestFormDataById(Long id);
 
      void deleteTestFormData(Long id);
+
+     boolean nameExists(String name);
 }
\ No newline at end of file
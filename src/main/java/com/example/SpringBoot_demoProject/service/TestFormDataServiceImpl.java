@@ -1,8 +1,12 @@
 package com.example.SpringBoot_demoProject.service;
 
+import com.example.SpringBoot_demoProject.archive.TestFormDataArchive;
 import com.example.SpringBoot_demoProject.model.TestFormData;
 import com.example.SpringBoot_demoProject.repository.TestFormDataRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service; // Import @Service annotation
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,37 +16,89 @@ import java.util.Optional;
 public class TestFormDataServiceImpl implements TestFormDataService {
 
     private final TestFormDataRepository testFormDataRepository; // Inject the repository
+    private final TestFormDataNameIndex nameIndex; // In-memory filter consulted before duplicate-name queries
+    private final TestFormDataArchive archive; // Cold tier holding rows moved out of the live table
 
-    // Constructor Injection: Spring will automatically provide an instance of TestFormDataRepository
-    public TestFormDataServiceImpl(TestFormDataRepository testFormDataRepository) {
+    // Constructor Injection: Spring will automatically provide the repository, the name index and the archive
+    public TestFormDataServiceImpl(TestFormDataRepository testFormDataRepository, TestFormDataNameIndex nameIndex,
+                                   TestFormDataArchive archive) {
         this.testFormDataRepository = testFormDataRepository;
+        this.nameIndex = nameIndex;
+        this.archive = archive;
     }
 
     @Override
+    @Transactional // The row loaded for an update is the one merged, so the update reads it only once
     public TestFormData saveTestFormData(TestFormData testFormData) {
         // Here you could add business logic before saving, e.g.,
         // validation, data transformation, logging specific events
         System.out.println("Service layer: Saving data for: " + testFormData.getName()); // Example of service layer logging
-        return testFormDataRepository.save(testFormData);
+
+        // An update loads its row once: a row missing from the live table but held by the archive is read-only,
+        // and an existing row supplies the stored creation time, which is read-only and never sent by clients.
+        Long id = testFormData.getId();
+        if (id != null) {
+            Optional<TestFormData> existing = testFormDataRepository.findById(id);
+            if (existing.isEmpty() && archive.findById(id).isPresent()) {
+                throw new ArchivedDataException(id);
+            }
+            existing.ifPresent(row -> testFormData.setCreatedAt(row.getCreatedAt()));
+        }
+
+        // Reject duplicate names, including names of archived rows. The name index answers most checks
+        // without touching the database; updates exclude their own row so re-saving an unchanged name is allowed.
+        // An archived row with the name is always another row, since archived rows cannot be updated.
+        boolean duplicate = nameIndex.exists(testFormData.getName(), name -> id == null
+                ? testFormDataRepository.existsByName(name)
+                : testFormDataRepository.existsByNameAndIdNot(name, id))
+                || archive.containsName(testFormData.getName());
+        if (duplicate) {
+            throw new DuplicateNameException(testFormData.getName());
+        }
+        try {
+            // Flushed here so an update of a row removed since it was loaded fails inside this method
+            return testFormDataRepository.saveAndFlush(testFormData);
+        } catch (OptimisticLockingFailureException e) {
+            // The archiver holds rows it is moving locked, so the update waited and then found no row to change
+            if (id != null && archive.findById(id).isPresent()) {
+                throw new ArchivedDataException(id);
+            }
+            throw e;
+        }
     }
 
     @Override
     public List<TestFormData> getAllTestFormData() {
         // Here you could add business logic before returning, e.g.,
-        // filtering, sorting, or applying security checks
-        return testFormDataRepository.findAll();
+        // filtering, sorting, or applying security checks.
+        // Sorted by ID explicitly: the database may otherwise return rows in name-index order.
+        return testFormDataRepository.findAll(Sort.by("id"));
     }
 
     @Override
     public Optional<TestFormData> getTestFormDataById(Long id) {
-        // Business logic for fetching by ID
-        return testFormDataRepository.findById(id);
+        // Business logic for fetching by ID: rows not in the live table may have been archived
+        return testFormDataRepository.findById(id).or(() -> archive.findById(id));
     }
 
     @Override
     public void deleteTestFormData(Long id) {
         // Business logic for deletion, e.g.,
         // checking if the entity exists before deleting, logging
+        if (isArchivedOnly(id)) {
+            throw new ArchivedDataException(id);
+        }
         testFormDataRepository.deleteById(id);
     }
+
+    @Override
+    public boolean nameExists(String name) {
+        // Most absent names are ruled out by the in-memory index and the archive's name filters without a query
+        return nameIndex.exists(name, testFormDataRepository::existsByName) || archive.containsName(name);
+    }
+
+    // Archived rows are read-only; the archive is checked first since it is an in-memory lookup for most IDs
+    private boolean isArchivedOnly(Long id) {
+        return id != null && archive.findById(id).isPresent() && !testFormDataRepository.existsById(id);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.example.SpringBoot_demoProject.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, thread-safe Bloom filter over name strings.
+ * It never reports a false negative: if {@link #mightContain(String)} returns false the name was never added.
+ * A true result only means "possibly present" and must be confirmed against the stored data.
+ * Entries cannot be removed; callers rebuild a fresh filter when it becomes too full or stale.
+ */
+public final class NameBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final long expectedInsertions;
+    private final AtomicLong bitsSet = new AtomicLong();
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * Creates a filter sized for the given capacity and target false-positive probability.
+     * @param expectedInsertions The number of names the filter should hold before its error rate degrades.
+     * @param falsePositiveProbability The target false-positive probability at that capacity, e.g. 0.01.
+     */
+    public NameBloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("falsePositiveProbability must be between 0 and 1");
+        }
+        // Standard sizing: m = -n ln(p) / (ln 2)^2 bits and k = (m / n) ln 2 hash functions.
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability)
+                / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE, (Math.max(64, optimalBits) + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    /**
+     * Records a name in the filter.
+     * @param name The name to add; null is ignored.
+     */
+    public void put(String name) {
+        if (name == null) {
+            return;
+        }
+        long hash1 = hash(name);
+        long hash2 = mix(hash1) | 1; // Odd second hash so successive probes never collapse onto one bit.
+        for (int i = 0; i < hashCount; i++) {
+            setBit(Math.floorMod(hash1 + i * hash2, bitCount));
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * Checks whether a name may have been added.
+     * @param name The name to check.
+     * @return false if the name was definitely never added, true if it possibly was.
+     */
+    public boolean mightContain(String name) {
+        if (name == null) {
+            return false;
+        }
+        long hash1 = hash(name);
+        long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the current false-positive probability from the fraction of bits set, (bitsSet / m)^k.
+     * @return The probability that a name that was never added is reported as possibly present.
+     */
+    public double expectedFalsePositiveProbability() {
+        return Math.pow((double) bitsSet.get() / bitCount, hashCount);
+    }
+
+    /**
+     * @return The size of the bit array in bytes.
+     */
+    public long memoryBytes() {
+        return bitCount / 8;
+    }
+
+    /**
+     * @return The number of {@link #put(String)} calls, including repeats of the same name.
+     */
+    public long insertions() {
+        return insertions.get();
+    }
+
+    /**
+     * @return The capacity this filter was sized for.
+     */
+    public long expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+        bitsSet.incrementAndGet();
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes, finalised with a MurmurHash3 mix for better bit dispersion.
+    private static long hash(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
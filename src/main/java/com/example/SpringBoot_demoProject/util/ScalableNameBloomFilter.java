@@ -0,0 +1,98 @@
+package com.example.SpringBoot_demoProject.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A Bloom filter that grows instead of saturating, built as a chain of {@link NameBloomFilter} stages.
+ * When the newest stage reaches its capacity a new stage with twice the capacity and half the
+ * false-positive probability is appended, so the compound false-positive probability stays below the
+ * configured target however many names are added (Almeida et al., "Scalable Bloom Filters").
+ * Like its stages it never reports a false negative and cannot remove entries.
+ */
+public final class ScalableNameBloomFilter {
+
+    private final double falsePositiveProbability;
+    private final List<NameBloomFilter> stages = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a filter whose first stage holds the given number of names.
+     * @param initialCapacity The capacity of the first stage.
+     * @param falsePositiveProbability The upper bound for the compound false-positive probability, e.g. 0.01.
+     */
+    public ScalableNameBloomFilter(long initialCapacity, double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+        // Stage i gets p / 2^(i+1), so the probabilities of all stages sum to less than p.
+        stages.add(new NameBloomFilter(initialCapacity, falsePositiveProbability / 2));
+    }
+
+    /**
+     * Records a name, appending a new stage first if the newest one is full.
+     * @param name The name to add; null is ignored.
+     */
+    public void put(String name) {
+        if (name == null) {
+            return;
+        }
+        NameBloomFilter last = stages.get(stages.size() - 1);
+        if (last.insertions() >= last.expectedInsertions()) {
+            last = grow(last);
+        }
+        last.put(name);
+    }
+
+    private synchronized NameBloomFilter grow(NameBloomFilter full) {
+        NameBloomFilter last = stages.get(stages.size() - 1);
+        if (last == full) { // Another thread may have grown the chain already.
+            double stageProbability = falsePositiveProbability / Math.pow(2, stages.size() + 1);
+            last = new NameBloomFilter(full.expectedInsertions() * 2, stageProbability);
+            stages.add(last);
+        }
+        return last;
+    }
+
+    /**
+     * @param name The name to check.
+     * @return false if the name was definitely never added, true if it possibly was.
+     */
+    public boolean mightContain(String name) {
+        for (NameBloomFilter stage : stages) {
+            if (stage.mightContain(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The estimated probability that any stage reports an absent name, 1 - prod(1 - p_i).
+     */
+    public double expectedFalsePositiveProbability() {
+        double allNegative = 1;
+        for (NameBloomFilter stage : stages) {
+            allNegative *= 1 - stage.expectedFalsePositiveProbability();
+        }
+        return 1 - allNegative;
+    }
+
+    /**
+     * @return The combined size of all stages' bit arrays in bytes.
+     */
+    public long memoryBytes() {
+        return stages.stream().mapToLong(NameBloomFilter::memoryBytes).sum();
+    }
+
+    /**
+     * @return The number of {@link #put(String)} calls, including repeats of the same name.
+     */
+    public long insertions() {
+        return stages.stream().mapToLong(NameBloomFilter::insertions).sum();
+    }
+
+    /**
+     * @return The number of stages; more than one means the filter has grown since it was built.
+     */
+    public int stageCount() {
+        return stages.size();
+    }
+}
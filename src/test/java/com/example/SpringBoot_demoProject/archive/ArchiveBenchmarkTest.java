@@ -0,0 +1,138 @@
+package com.example.SpringBoot_demoProject.archive;
+
+import com.example.SpringBoot_demoProject.SpringBootDemoProjectApplication;
+import com.example.SpringBoot_demoProject.repository.TestFormDataRepository;
+import com.example.SpringBoot_demoProject.service.TestFormDataService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency benchmark for live-table queries before and after archival.
+ * Seeds the in-memory H2 database with mostly old rows, measures typical queries, archives the old rows
+ * and measures again. Disabled by default; run with:
+ * <pre>mvn test -Dtest=ArchiveBenchmarkTest -Dbenchmark=true</pre>
+ */
+@SpringBootTest(classes = SpringBootDemoProjectApplication.class, properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ArchiveBenchmarkTest {
+
+    private static final int OLD_ROWS = 200_000;
+    private static final int RECENT_ROWS = 2_000;
+    private static final int RUNS = 15;
+    private static final int LOOKUPS_PER_RUN = 1_000;
+
+    @Autowired
+    private TestFormDataRepository testFormDataRepository;
+
+    @Autowired
+    private TestFormDataService testFormDataService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestFormDataArchiver archiver;
+
+    @DynamicPropertySource
+    static void archiveDirectory(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("benchmark-archive");
+        registry.add("test-data.archive.directory", directory::toString);
+    }
+
+    @Test
+    void benchmarkLiveTableBeforeAndAfterArchival() {
+        testFormDataRepository.deleteAll();
+        Timestamp old = Timestamp.from(Instant.now().minus(Duration.ofDays(30)));
+        Timestamp recent = Timestamp.from(Instant.now());
+        seed(OLD_ROWS, "Old entry ", old);
+        seed(RECENT_ROWS, "Recent entry ", recent);
+
+        long firstId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM test_form_data", Long.class);
+        long firstRecentId = firstId + OLD_ROWS;
+
+        List<String[]> results = new ArrayList<>();
+        measureAll("before", firstId, firstRecentId, results);
+
+        long started = System.nanoTime();
+        long archived = archiver.archiveOlderThan(Instant.now().minus(Duration.ofDays(7)));
+        double archiveMillis = (System.nanoTime() - started) / 1e6;
+        assertEquals(OLD_ROWS, archived);
+        assertEquals(RECENT_ROWS, testFormDataRepository.count());
+
+        measureAll("after", firstId, firstRecentId, results);
+
+        System.out.printf("%nArchive benchmark: %,d old + %,d recent rows, archival took %.0f ms, median of %d runs%n",
+                OLD_ROWS, RECENT_ROWS, archiveMillis, RUNS);
+        System.out.printf("%-8s %-40s %12s%n", "phase", "query", "median ms");
+        results.forEach(row -> System.out.printf("%-8s %-40s %12s%n", (Object[]) row));
+    }
+
+    private void measureAll(String phase, long firstId, long firstRecentId, List<String[]> results) {
+        results.add(new String[]{phase, "findAll() (live rows)",
+                median(() -> testFormDataRepository.findAll().size())});
+        results.add(new String[]{phase, "count()",
+                median(testFormDataRepository::count)});
+        results.add(new String[]{phase, "name lookup (indexed) x" + LOOKUPS_PER_RUN / 100,
+                median(() -> {
+                    for (int i = 0; i < LOOKUPS_PER_RUN / 100; i++) {
+                        testFormDataRepository.existsByName("Recent entry " + i);
+                    }
+                })});
+        results.add(new String[]{phase, "getById(recent) x" + LOOKUPS_PER_RUN,
+                median(() -> lookups(firstRecentId, RECENT_ROWS))});
+        results.add(new String[]{phase, "getById(old) x" + LOOKUPS_PER_RUN
+                + ("after".equals(phase) ? " (archive)" : ""),
+                median(() -> lookups(firstId, OLD_ROWS))});
+    }
+
+    private void lookups(long firstId, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < LOOKUPS_PER_RUN; i++) {
+            long id = firstId + random.nextInt(count);
+            assertTrue(testFormDataService.getTestFormDataById(id).isPresent(), "Missing row " + id);
+        }
+    }
+
+    private void seed(int rows, String prefix, Timestamp createdAt) {
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{prefix + i, createdAt});
+            if (batch.size() == 5_000 || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO test_form_data (name, created_at) VALUES (?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static String median(Runnable query) {
+        query.run(); // Warm-up.
+        double[] millis = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long started = System.nanoTime();
+            query.run();
+            millis[i] = (System.nanoTime() - started) / 1e6;
+        }
+        Arrays.sort(millis);
+        return String.format("%.2f", millis[RUNS / 2]);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.SpringBoot_demoProject.archive;
+
+import com.example.SpringBoot_demoProject.model.TestFormData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ArchiveSegmentWriter} and {@link ArchiveSegment}.
+ * These tests write real segment files to a temporary directory and read them back through the memory mapping.
+ */
+public class ArchiveSegmentTest {
+
+    @TempDir
+    Path tempDir; // Fresh directory for each test, deleted afterwards.
+
+    /**
+     * Verifies that every row written across several blocks can be read back by ID,
+     * and that IDs in gaps or outside the segment's range are not found.
+     */
+    @Test
+    void testWriteAndReadBack() throws IOException {
+        Path file = tempDir.resolve("segment.seg");
+        Instant createdAt = Instant.parse("2025-01-02T03:04:05.123456Z");
+
+        // Write every third ID so that lookups also hit gaps inside a block.
+        int rows = ArchiveSegment.RECORDS_PER_BLOCK * 3 + 7;
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(file)) {
+            for (int i = 0; i < rows; i++) {
+                TestFormData row = new TestFormData(10L + i * 3L, "Name " + i);
+                row.setCreatedAt(createdAt.plusSeconds(i));
+                writer.append(row);
+            }
+            writer.finish();
+        }
+
+        try (ArchiveSegment segment = ArchiveSegment.open(file)) {
+            assertEquals(rows, segment.rowCount());
+            assertEquals(10L, segment.minId());
+            assertEquals(10L + (rows - 1) * 3L, segment.maxId());
+            assertEquals(Files.size(file), segment.sizeBytes());
+
+            for (int i = 0; i < rows; i++) {
+                Optional<TestFormData> row = segment.findById(10L + i * 3L);
+                assertTrue(row.isPresent(), "Archived row should be found: " + i);
+                assertEquals("Name " + i, row.get().getName());
+                assertEquals(createdAt.plusSeconds(i), row.get().getCreatedAt());
+            }
+            assertTrue(segment.findById(11L).isEmpty(), "ID in a gap should not be found.");
+            assertTrue(segment.findById(9L).isEmpty(), "ID below the range should not be found.");
+            assertTrue(segment.findById(segment.maxId() + 1).isEmpty(), "ID above the range should not be found.");
+        }
+    }
+
+    /**
+     * Verifies that names are found in any block, singly and in bulk, and that absent names are not.
+     */
+    @Test
+    void testFindNames() throws IOException {
+        Path file = tempDir.resolve("segment.seg");
+        int rows = ArchiveSegment.RECORDS_PER_BLOCK * 2 + 5;
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(file)) {
+            for (int i = 0; i < rows; i++) {
+                TestFormData row = new TestFormData(1L + i, "Name " + i);
+                row.setCreatedAt(Instant.now());
+                writer.append(row);
+            }
+            writer.finish();
+        }
+
+        try (ArchiveSegment segment = ArchiveSegment.open(file)) {
+            assertTrue(segment.containsName("Name 0"));
+            assertTrue(segment.containsName("Name " + (rows - 1))); // In the last, partial block.
+            assertFalse(segment.containsName("Name " + rows));
+            assertFalse(segment.containsName("name 0"), "Names are matched exactly.");
+
+            Set<String> found = new HashSet<>();
+            segment.collectNames(List.of("Name 3", "Missing", "Name 200"), found);
+            assertEquals(Set.of("Name 3", "Name 200"), found);
+        }
+    }
+
+    /**
+     * Verifies that rows must be appended in ascending ID order.
+     */
+    @Test
+    void testRejectsOutOfOrderIds() throws IOException {
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(tempDir.resolve("segment.seg"))) {
+            TestFormData first = new TestFormData(5L, "First");
+            first.setCreatedAt(Instant.now());
+            writer.append(first);
+
+            TestFormData second = new TestFormData(5L, "Second");
+            second.setCreatedAt(Instant.now());
+            assertThrows(IllegalArgumentException.class, () -> writer.append(second));
+        }
+    }
+
+    /**
+     * Verifies that a file that is not a segment is refused instead of being misread.
+     */
+    @Test
+    void testRejectsInvalidFile() throws IOException {
+        Path file = tempDir.resolve("garbage.seg");
+        Files.write(file, new byte[100]);
+
+        assertThrows(IOException.class, () -> ArchiveSegment.open(file));
+    }
+}
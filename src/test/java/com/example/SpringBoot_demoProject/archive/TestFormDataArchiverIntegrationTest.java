@@ -0,0 +1,299 @@
+package com.example.SpringBoot_demoProject.archive;
+
+import com.example.SpringBoot_demoProject.SpringBootDemoProjectApplication;
+import com.example.SpringBoot_demoProject.dto.ArchiveSegmentInfo;
+import com.example.SpringBoot_demoProject.model.TestFormData;
+import com.example.SpringBoot_demoProject.repository.TestFormDataRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for {@link TestFormDataArchiver} and the archive read paths.
+ * These tests archive rows from the in-memory H2 database into segment files in a temporary
+ * directory and read them back through the REST API.
+ */
+@SpringBootTest(classes = SpringBootDemoProjectApplication.class) // Loads the complete Spring Boot application context.
+@AutoConfigureMockMvc // Auto-configures MockMvc, allowing us to perform HTTP requests without a running server.
+@ActiveProfiles("test") // Activates the "test" Spring profile, which configures the in-memory H2 database.
+public class TestFormDataArchiverIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc; // Used to send mock HTTP requests to the controller.
+
+    @Autowired
+    private ObjectMapper objectMapper; // Converts Java objects to JSON and vice-versa for request/response bodies.
+
+    @Autowired
+    private TestFormDataRepository testFormDataRepository; // Direct access to the repository for test data setup/teardown.
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate; // Used to backdate rows, since creation times cannot be set through JPA.
+
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Used to hold an update open while the archiver runs.
+
+    @Autowired
+    private TestFormDataArchiver archiver;
+
+    @Autowired
+    private TestFormDataArchive archive;
+
+    private static Path archiveDirectory;
+
+    private Long oldId;
+    private Long recentId;
+
+    /**
+     * Points the archive at a fresh temporary directory so segments never leak between test runs.
+     */
+    @DynamicPropertySource
+    static void archiveDirectory(DynamicPropertyRegistry registry) throws IOException {
+        archiveDirectory = Files.createTempDirectory("test-archive");
+        registry.add("test-data.archive.directory", archiveDirectory::toString);
+    }
+
+    /**
+     * Set up method executed before each test.
+     * Creates two rows older than the archive threshold and one recent row.
+     */
+    @BeforeEach
+    void setUp() {
+        testFormDataRepository.deleteAll(); // Clear all existing data to ensure a clean state.
+
+        oldId = testFormDataRepository.save(new TestFormData("Old Entry One")).getId();
+        Long otherOldId = testFormDataRepository.save(new TestFormData("Old Entry Two")).getId();
+        recentId = testFormDataRepository.save(new TestFormData("Recent Entry")).getId();
+
+        Timestamp monthAgo = Timestamp.from(Instant.now().minus(Duration.ofDays(30)));
+        jdbcTemplate.update("UPDATE test_form_data SET created_at = ? WHERE id IN (?, ?)", monthAgo, oldId, otherOldId);
+    }
+
+    private long archiveWeekOld() {
+        return archiver.archiveOlderThan(Instant.now().minus(Duration.ofDays(7)));
+    }
+
+    //------------------------------------------------------------------------------------------------------------------
+    // Test Cases
+    //------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Verifies that old rows leave the live table but stay readable by ID through the archive,
+     * while the recent row is untouched.
+     */
+    @Test
+    void testArchiveMovesOldRows() throws Exception {
+        assertEquals(2, archiveWeekOld());
+        assertEquals(1, testFormDataRepository.count()); // Only the recent row stays live.
+        assertEquals(0, archiveWeekOld()); // A second run finds nothing left to archive.
+
+        mockMvc.perform(get("/api/test-data")) // The live listing no longer includes archived rows.
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(recentId.intValue())));
+
+        mockMvc.perform(get("/api/test-data/{id}", oldId)) // Archived rows are still found by ID.
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Old Entry One")))
+                .andExpect(jsonPath("$.createdAt").exists());
+    }
+
+    /**
+     * Verifies that archived rows cannot be updated or deleted.
+     */
+    @Test
+    void testArchivedRowsAreReadOnly() throws Exception {
+        archiveWeekOld();
+
+        TestFormData update = new TestFormData(oldId, "Renamed Entry");
+        mockMvc.perform(put("/api/test-data/{id}", oldId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isConflict()); // Expect HTTP 409 Conflict status.
+
+        mockMvc.perform(delete("/api/test-data/{id}", oldId))
+                .andExpect(status().isConflict()); // Expect HTTP 409 Conflict status.
+
+        assertEquals("Old Entry One", archive.findById(oldId).orElseThrow().getName());
+    }
+
+    /**
+     * Verifies that archived names stay taken: the name lookup finds them, and neither a new entry nor an
+     * imported row may reuse them.
+     */
+    @Test
+    void testArchivedNamesAreStillDuplicates() throws Exception {
+        archiveWeekOld();
+
+        mockMvc.perform(head("/api/test-data/by-name/{name}", "Old Entry One"))
+                .andExpect(status().isOk()); // Expect HTTP 200 OK for an archived name.
+        mockMvc.perform(head("/api/test-data/by-name/{name}", "Never Stored"))
+                .andExpect(status().isNotFound()); // Expect HTTP 404 Not Found for an unknown name.
+
+        mockMvc.perform(post("/api/test-data")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TestFormData("Old Entry One"))))
+                .andExpect(status().isConflict()); // Expect HTTP 409 Conflict status.
+
+        MockMultipartFile file = new MockMultipartFile("file", "data.csv", "text/csv",
+                "name\nOld Entry Two\nFresh Entry\n".getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(multipart("/api/test-data/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(2)))
+                .andExpect(jsonPath("$.errors[0].message", is("Name already exists")));
+
+        assertEquals(2, testFormDataRepository.count()); // The recent row and "Fresh Entry".
+    }
+
+    /**
+     * Verifies that segments are listed and downloaded byte-for-byte, and that unknown names are not served.
+     */
+    @Test
+    void testExportArchiveSegment() throws Exception {
+        archiveWeekOld();
+        ArchiveSegmentInfo segment = archive.listSegments().stream()
+                .filter(info -> info.minId() == oldId)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, segment.rowCount());
+
+        mockMvc.perform(get("/api/test-data/archive/segments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == '" + segment.name() + "')].rowCount").value(2));
+
+        byte[] expected = Files.readAllBytes(archive.findSegmentFile(segment.name()).orElseThrow());
+        byte[] downloaded = mockMvc.perform(get("/api/test-data/archive/segments/{name}", segment.name()))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", expected.length))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(expected, downloaded);
+
+        mockMvc.perform(get("/api/test-data/archive/segments/{name}", "../application.properties"))
+                .andExpect(status().isNotFound()); // Expect HTTP 404 Not Found for unknown segments.
+    }
+
+    /**
+     * Verifies that an update in flight while the archiver runs is not lost: the archiver waits for the
+     * row lock and archives the committed name instead of the one it would have read before.
+     */
+    @Test
+    void testArchiveWaitsForConcurrentUpdate() throws Exception {
+        CountDownLatch updated = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE test_form_data SET name = ? WHERE id = ?", "Old Entry Renamed", oldId);
+            updated.countDown();
+            try {
+                commit.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(updated.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<Long> archiving = CompletableFuture.supplyAsync(this::archiveWeekOld);
+        Thread.sleep(300);
+        assertFalse(archiving.isDone()); // Blocked on the row lock held by the open update.
+
+        commit.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+        assertEquals(2, archiving.get(10, TimeUnit.SECONDS));
+
+        assertEquals("Old Entry Renamed", archive.findById(oldId).orElseThrow().getName());
+        assertFalse(testFormDataRepository.existsById(oldId));
+    }
+
+    /**
+     * Verifies that an update blocked on a row the archiver is moving fails with 409 Conflict once the row
+     * has been archived, rather than with a server error for the vanished row.
+     */
+    @Test
+    void testUpdateArchivedWhileInFlight() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        // Holds the row lock the way the archiver does; the archiver below joins this transaction.
+        CompletableFuture<Long> archiving = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM test_form_data WHERE id = ? FOR UPDATE", oldId);
+            locked.countDown();
+            try {
+                proceed.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return archiveWeekOld();
+        }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        TestFormData update = new TestFormData(oldId, "Old Entry Updated");
+        CompletableFuture<Integer> updating = CompletableFuture.supplyAsync(() -> {
+            try {
+                return mockMvc.perform(put("/api/test-data/{id}", oldId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(update)))
+                        .andReturn().getResponse().getStatus();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(300);
+        assertFalse(updating.isDone()); // Blocked on the row lock held by the archiving transaction.
+
+        proceed.countDown();
+        assertEquals(2, archiving.get(10, TimeUnit.SECONDS));
+        assertEquals(409, updating.get(10, TimeUnit.SECONDS));
+        assertEquals("Old Entry One", archive.findById(oldId).orElseThrow().getName());
+    }
+
+    /**
+     * Verifies that a restarted archive opens only segments whose delete committed. A segment left behind by a
+     * run that stopped between writing the file and committing still has live rows, so it is set aside.
+     */
+    @Test
+    void testUncommittedSegmentSetAsideOnRestart() throws Exception {
+        assertEquals(2, archiveWeekOld());
+        Path uncommitted = archiveDirectory.resolve("segment-9999999999999-0000000000000000000.seg");
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(uncommitted)) {
+            writer.append(testFormDataRepository.findById(recentId).orElseThrow());
+            writer.finish();
+        }
+
+        TestFormDataArchive restarted = new TestFormDataArchive(archiveDirectory, jdbcTemplate);
+        try {
+            assertTrue(restarted.findById(oldId).isPresent()); // The committed segment is opened again.
+            assertTrue(restarted.findById(recentId).isEmpty()); // The live row is not shadowed by the stray copy.
+            assertFalse(Files.exists(uncommitted));
+            assertTrue(Files.exists(archiveDirectory.resolve(uncommitted.getFileName() + ".orphaned")));
+        } finally {
+            restarted.close();
+        }
+    }
+}
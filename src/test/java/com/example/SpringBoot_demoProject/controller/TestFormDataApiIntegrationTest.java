@@ -10,9 +10,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -89,6 +92,26 @@ public class TestFormDataApiIntegrationTest {
         assertEquals(3, testFormDataRepository.count());
     }
 
+    /**
+     * Tests the PUT /api/test-data/{id} endpoint for a successful update.
+     * Verifies that the name is changed and the stored creation time is kept and returned.
+     */
+    @Test
+    void testUpdateFormDataApi() throws Exception {
+        TestFormData existing = testFormDataRepository.findAll().get(0); // Pick one of the rows created in setUp().
+        TestFormData update = new TestFormData(existing.getId(), "John Updated"); // The request body carries no creation time.
+
+        mockMvc.perform(put("/api/test-data/{id}", existing.getId()) // Perform a PUT request to the endpoint.
+                        .contentType(MediaType.APPLICATION_JSON) // Set request content type to JSON.
+                        .content(objectMapper.writeValueAsString(update))) // Convert object to JSON and set as body.
+                .andExpect(status().isOk()) // Expect HTTP 200 OK status.
+                .andExpect(jsonPath("$.name", is("John Updated"))) // Assert the updated name in the returned JSON.
+                .andExpect(jsonPath("$.createdAt").isNotEmpty()); // The creation time must not be dropped by the update.
+
+        // Verify that the stored creation time is unchanged.
+        assertEquals(existing.getCreatedAt(), testFormDataRepository.findById(existing.getId()).orElseThrow().getCreatedAt());
+    }
+
     /**
      * Tests the POST /api/test-data endpoint for bad requests due to validation errors.
      * Verifies that sending an invalid TestFormData (e.g., blank name) results in a 400 Bad Request
@@ -105,4 +128,215 @@ public class TestFormDataApiIntegrationTest {
                 .andExpect(status().isBadRequest()) // Expect HTTP 400 Bad Request status.
                 .andExpect(jsonPath("$.name").exists()); // Expect a JSON path for 'name' indicating a validation error.
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests the POST /api/test-data/import endpoint with a mix of valid and invalid rows.
+     * Verifies that valid rows are loaded, invalid rows are skipped, and each rejection is
+     * reported with its line number.
+     */
+    @Test
+    void testImportCsvApi() throws Exception {
+        String csv = "id,name\n"
+                + "1,Alice Wonderland\n"
+                + "2,\"Smith, Jane \"\"JJ\"\"\"\n" // Quoted name with an embedded comma and escaped quotes.
+                + "3,X\n"                              // Too short for @Size(min = 2).
+                + "4,\"Unterminated\n"                 // Malformed CSV.
+                + "\n"                                 // Blank lines are ignored.
+                + "5,Bob Builder\n";
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "data.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/test-data/import").file(file)) // Perform a multipart POST request.
+                .andExpect(status().isOk()) // Expect HTTP 200 OK status.
+                .andExpect(jsonPath("$.loader", is("jdbc-batch"))) // H2 uses the JDBC batch fallback.
+                .andExpect(jsonPath("$.linesProcessed", is(5)))
+                .andExpect(jsonPath("$.accepted", is(3)))
+                .andExpect(jsonPath("$.rejected", is(2)))
+                .andExpect(jsonPath("$.errors", hasSize(2)))
+                .andExpect(jsonPath("$.errors[0].line", is(4)))
+                .andExpect(jsonPath("$.errors[0].message", is("Name must be between 2 and 100 characters")))
+                .andExpect(jsonPath("$.errors[1].line", is(5)))
+                .andExpect(jsonPath("$.errorsTruncated", is(false)));
+
+        // Two rows from setUp plus the three accepted rows.
+        assertEquals(5, testFormDataRepository.count());
+        assertEquals(1, testFormDataRepository.findAll().stream()
+                .filter(data -> data.getName().equals("Smith, Jane \"JJ\""))
+                .count());
+    }
+
+    /**
+     * Tests the POST /api/test-data/import endpoint with a quoted name broken across two lines.
+     * Verifies that both halves are rejected as malformed instead of the second half being imported.
+     */
+    @Test
+    void testImportCsvApiQuotedNameAcrossLines() throws Exception {
+        String csv = "name\n"
+                + "\"foo\n"      // Opens a quoted field that the line break cuts off.
+                + "bar\"\n"      // The remainder, with a stray closing quote.
+                + "Good Name\n";
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "data.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/test-data/import").file(file)) // Perform a multipart POST request.
+                .andExpect(status().isOk()) // Expect HTTP 200 OK status.
+                .andExpect(jsonPath("$.accepted", is(1)))
+                .andExpect(jsonPath("$.rejected", is(2)))
+                .andExpect(jsonPath("$.errors[0].line", is(2)))
+                .andExpect(jsonPath("$.errors[0].message", is("Malformed CSV: unterminated quoted field")))
+                .andExpect(jsonPath("$.errors[1].line", is(3)))
+                .andExpect(jsonPath("$.errors[1].message", is("Malformed CSV: quote inside an unquoted field")));
+
+        // Two rows from setUp plus "Good Name"; no fragment of the broken name was stored.
+        assertEquals(3, testFormDataRepository.count());
+        assertEquals(0, testFormDataRepository.findAll().stream()
+                .filter(data -> data.getName().contains("bar"))
+                .count());
+    }
+
+    /**
+     * Tests the POST /api/test-data/import endpoint with a line far longer than any valid row.
+     * Verifies that the line is rejected with its line number and the lines around it still load.
+     */
+    @Test
+    void testImportCsvApiOverlongLine() throws Exception {
+        String csv = "name\r\n"
+                + "Alice Wonderland\r\n"
+                + "x".repeat(100_000) + "\r\n" // Only the first MAX_LINE_LENGTH characters are ever held.
+                + "Bob Builder";              // No trailing line break.
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "data.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/test-data/import").file(file)) // Perform a multipart POST request.
+                .andExpect(status().isOk()) // Expect HTTP 200 OK status.
+                .andExpect(jsonPath("$.linesProcessed", is(3)))
+                .andExpect(jsonPath("$.accepted", is(2)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)))
+                .andExpect(jsonPath("$.errors[0].message", is("Line exceeds 4096 characters")));
+
+        // Two rows from setUp plus the two accepted rows.
+        assertEquals(4, testFormDataRepository.count());
+    }
+
+    /**
+     * Tests the POST /api/test-data/import endpoint when the client accepts newline-delimited JSON.
+     * Verifies that a progress record is streamed after every 1000 data lines and the summary comes last.
+     */
+    @Test
+    void testImportCsvApiStreamsProgress() throws Exception {
+        StringBuilder csv = new StringBuilder("name\n");
+        for (int i = 0; i < 2500; i++) {
+            csv.append("Streamed Name ").append(i).append('\n');
+        }
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "data.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        String body = mockMvc.perform(multipart("/api/test-data/import").file(file)
+                        .accept(MediaType.APPLICATION_NDJSON)) // Ask for streamed progress.
+                .andExpect(status().isOk()) // Expect HTTP 200 OK status.
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] records = body.split("\n");
+        assertEquals(3, records.length); // Progress at 1000 and 2000 lines, then the summary.
+        assertEquals(1000, objectMapper.readTree(records[0]).get("linesProcessed").asInt());
+        assertEquals(2000, objectMapper.readTree(records[1]).get("linesProcessed").asInt());
+        assertEquals(2500, objectMapper.readTree(records[2]).get("accepted").asInt());
+        assertEquals("jdbc-batch", objectMapper.readTree(records[2]).get("loader").asText());
+    }
+
+    /**
+     * Tests the POST /api/test-data/import endpoint with a file that has no "name" header.
+     * Verifies that the request is rejected with 400 Bad Request and nothing is written.
+     */
+    @Test
+    void testImportCsvApiMissingNameHeader() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "data.csv", "text/csv", "id,title\n1,Alice\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/test-data/import").file(file))
+                .andExpect(status().isBadRequest()) // Expect HTTP 400 Bad Request status.
+                .andExpect(jsonPath("$.file").exists()); // Expect an error message for the uploaded file.
+
+        assertEquals(2, testFormDataRepository.count());
+    }
+
+    /**
+     * Tests the POST /api/test-data endpoint with a name that already exists.
+     * Verifies that the duplicate is rejected with 409 Conflict and nothing is written.
+     */
+    @Test
+    void testSaveFormDataApiDuplicateName() throws Exception {
+        TestFormData duplicate = new TestFormData("John Doe"); // Same name as an entry created in setUp.
+
+        mockMvc.perform(post("/api/test-data")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(duplicate)))
+                .andExpect(status().isConflict()) // Expect HTTP 409 Conflict status.
+                .andExpect(jsonPath("$.name").exists()); // Expect an error message for the 'name' field.
+
+        assertEquals(2, testFormDataRepository.count());
+    }
+
+    /**
+     * Tests the HEAD /api/test-data/by-name/{name} endpoint.
+     * Verifies 200 OK for an existing name and 404 Not Found for an unknown one.
+     */
+    @Test
+    void testHeadByNameApi() throws Exception {
+        mockMvc.perform(head("/api/test-data/by-name/{name}", "Jane Smith"))
+                .andExpect(status().isOk()); // Expect HTTP 200 OK for an existing name.
+
+        mockMvc.perform(head("/api/test-data/by-name/{name}", "Nobody Here"))
+                .andExpect(status().isNotFound()); // Expect HTTP 404 Not Found for an unknown name.
+    }
+
+    /**
+     * Tests the POST /api/test-data/import endpoint with duplicate names.
+     * Verifies that names already in the table and names repeated within the file are both rejected.
+     */
+    @Test
+    void testImportCsvApiDuplicateNames() throws Exception {
+        String csv = "name\n"
+                + "John Doe\n"      // Already exists (created in setUp).
+                + "Carol Danvers\n"
+                + "Carol Danvers\n"; // Repeated within the file.
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "data.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/test-data/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(1)))
+                .andExpect(jsonPath("$.rejected", is(2)))
+                .andExpect(jsonPath("$.errors[0].line", is(2)))
+                .andExpect(jsonPath("$.errors[0].message", is("Name already exists")))
+                .andExpect(jsonPath("$.errors[1].line", is(4)));
+
+        assertEquals(3, testFormDataRepository.count());
+    }
+
+    /**
+     * Tests the POST /api/test-data/import endpoint with more rows than one write batch.
+     * Verifies that a name repeated from an earlier, already written batch is still rejected.
+     */
+    @Test
+    void testImportCsvApiDuplicateAcrossBatches() throws Exception {
+        StringBuilder csv = new StringBuilder("name\n");
+        for (int i = 0; i < 2500; i++) {
+            csv.append("Bulk Name ").append(i).append('\n');
+        }
+        csv.append("Bulk Name 7\n"); // Repeats a name from the first batch (line 2502).
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "data.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/test-data/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(2500)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(2502)))
+                .andExpect(jsonPath("$.errors[0].message", is("Name already exists")));
+
+        assertEquals(2502, testFormDataRepository.count());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.SpringBoot_demoProject.service;
+
+import com.example.SpringBoot_demoProject.SpringBootDemoProjectApplication;
+import com.example.SpringBoot_demoProject.model.TestFormData;
+import com.example.SpringBoot_demoProject.repository.TestFormDataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for {@link TestFormDataNameIndex} and {@link TestFormDataNameIndexLoader}.
+ * These tests check that rebuilding the index never drops names written by transactions that are still open.
+ */
+@SpringBootTest(classes = SpringBootDemoProjectApplication.class,
+        properties = "test-data.name-index.rebuild-quiesce-timeout=PT1S") // Keeps the skipped-rebuild case fast.
+@ActiveProfiles("test") // Activates the "test" Spring profile, which configures the in-memory H2 database.
+public class TestFormDataNameIndexIntegrationTest {
+
+    @Autowired
+    private TestFormDataRepository testFormDataRepository;
+
+    @Autowired
+    private TestFormDataNameIndex nameIndex;
+
+    @Autowired
+    private TestFormDataNameIndexLoader loader;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        testFormDataRepository.deleteAll(); // Clear all existing data to ensure a clean state.
+    }
+
+    /**
+     * Starts a rebuild while another transaction has inserted a name but not committed it.
+     * Verifies that the rebuild waits for the transaction and the name is still in the index afterwards.
+     */
+    @Test
+    void testRebuildWaitsForUncommittedInsert() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            testFormDataRepository.save(new TestFormData("Pending Name"));
+            inserted.countDown();
+            await(commit); // Hold the transaction open while the rebuild starts.
+        }));
+        assertTrue(inserted.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<Boolean> rebuild = CompletableFuture.supplyAsync(() -> {
+            try {
+                return loader.rebuild();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(200); // Let the rebuild begin waiting for the open transaction.
+        assertFalse(rebuild.isDone(), "Rebuild should wait for the open write transaction.");
+
+        commit.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+        assertTrue(rebuild.get(10, TimeUnit.SECONDS), "Rebuild should run once the transaction commits.");
+        assertTrue(nameIndex.mightContain("Pending Name"), "Committed name must survive the rebuild.");
+    }
+
+    /**
+     * Starts a rebuild while a transaction stays open longer than the quiesce timeout.
+     * Verifies that the rebuild is skipped and the existing filter, which has the name, is kept.
+     */
+    @Test
+    void testRebuildSkippedWhileTransactionStaysOpen() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            testFormDataRepository.save(new TestFormData("Long Running Name"));
+            inserted.countDown();
+            await(commit);
+        }));
+        assertTrue(inserted.await(10, TimeUnit.SECONDS));
+
+        assertFalse(loader.rebuild(), "Rebuild should be skipped while the transaction is open.");
+        assertTrue(nameIndex.mightContain("Long Running Name"));
+
+        commit.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+        assertTrue(nameIndex.mightContain("Long Running Name"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
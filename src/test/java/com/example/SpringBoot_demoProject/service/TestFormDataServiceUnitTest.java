@@ -1,5 +1,6 @@
 package com.example.SpringBoot_demoProject.service;
 
+import com.example.SpringBoot_demoProject.archive.TestFormDataArchive;
 import com.example.SpringBoot_demoProject.model.TestFormData;
 import com.example.SpringBoot_demoProject.repository.TestFormDataRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,12 +9,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -27,6 +33,12 @@ public class TestFormDataServiceUnitTest {
     @Mock // Creates a mock instance of TestFormDataRepository.
     private TestFormDataRepository testFormDataRepository;
 
+    @Mock // Creates a mock name index; by default it reports every name as absent.
+    private TestFormDataNameIndex nameIndex;
+
+    @Mock // Creates a mock archive; by default it holds no rows.
+    private TestFormDataArchive archive;
+
     @InjectMocks // Injects the mock(s) into TestFormDataServiceImpl.
     private TestFormDataServiceImpl testFormDataService;
 
@@ -63,7 +75,7 @@ public class TestFormDataServiceUnitTest {
     @Test
     void testSaveFormData() {
         // Given: Configure the mock repository's save method to return the input object.
-        when(testFormDataRepository.save(formData1)).thenReturn(formData1);
+        when(testFormDataRepository.saveAndFlush(formData1)).thenReturn(formData1);
 
         // When: Call the service method under test.
         TestFormData savedData = testFormDataService.saveTestFormData(formData1);
@@ -72,7 +84,7 @@ public class TestFormDataServiceUnitTest {
         assertNotNull(savedData, "Saved data should not be null.");
         assertEquals(formData1.getName(), savedData.getName(), "Saved data name should match input name.");
         // Verify that the repository's save method was invoked exactly once with formData1.
-        verify(testFormDataRepository, times(1)).save(formData1);
+        verify(testFormDataRepository, times(1)).saveAndFlush(formData1);
     }
 
     /**
@@ -83,7 +95,7 @@ public class TestFormDataServiceUnitTest {
     void testGetAllFormData() {
         // Given: Configure the mock repository's findAll method to return a predefined list of data.
         List<TestFormData> allData = Arrays.asList(formData1, formData2);
-        when(testFormDataRepository.findAll()).thenReturn(allData);
+        when(testFormDataRepository.findAll(Sort.by("id"))).thenReturn(allData);
 
         // When: Call the service method.
         List<TestFormData> retrievedData = testFormDataService.getAllTestFormData();
@@ -94,7 +106,7 @@ public class TestFormDataServiceUnitTest {
         assertTrue(retrievedData.contains(formData1), "Retrieved list should contain formData1.");
         assertTrue(retrievedData.contains(formData2), "Retrieved list should contain formData2.");
         // Verify that the repository's findAll method was invoked exactly once.
-        verify(testFormDataRepository, times(1)).findAll();
+        verify(testFormDataRepository, times(1)).findAll(Sort.by("id"));
     }
 
     /**
@@ -147,4 +159,122 @@ public class TestFormDataServiceUnitTest {
         // No return value to assert for void method, only verification of interaction.
         verify(testFormDataRepository, times(1)).deleteById(1L);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests the {@code saveTestFormData} method when the name is already taken.
+     * Verifies that a DuplicateNameException is thrown and nothing is saved.
+     */
+    @Test
+    void testSaveFormDataDuplicateName() {
+        // Given: The name index confirms that the name already exists.
+        TestFormData duplicate = new TestFormData("TestName1");
+        when(nameIndex.exists(eq("TestName1"), any())).thenReturn(true);
+
+        // When / Then: Saving the duplicate is rejected.
+        assertThrows(DuplicateNameException.class, () -> testFormDataService.saveTestFormData(duplicate));
+        // Verify that the repository's save method was never invoked.
+        verify(testFormDataRepository, never()).saveAndFlush(any());
+    }
+
+    /**
+     * Tests the {@code saveTestFormData} method for an update that keeps its own name.
+     * Verifies that the duplicate check excludes the entity's own row, so the update is allowed.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdateFormDataKeepsOwnName() {
+        // Given: The name index defers to the database lookup it was given, which finds no other row.
+        when(nameIndex.exists(eq("TestName1"), any()))
+                .thenAnswer(invocation -> ((Predicate<String>) invocation.getArgument(1)).test("TestName1"));
+        when(testFormDataRepository.existsByNameAndIdNot("TestName1", 1L)).thenReturn(false);
+        when(testFormDataRepository.saveAndFlush(formData1)).thenReturn(formData1);
+
+        // When: Re-save the existing entity.
+        TestFormData savedData = testFormDataService.saveTestFormData(formData1);
+
+        // Then: The update goes through and the lookup excluded the entity's own ID.
+        assertEquals(formData1, savedData);
+        verify(testFormDataRepository, times(1)).existsByNameAndIdNot("TestName1", 1L);
+        verify(testFormDataRepository, never()).existsByName(any());
+    }
+
+    /**
+     * Tests the {@code saveTestFormData} method for an update of a row that exists only in the archive.
+     * Verifies that an ArchivedDataException is thrown after a single live-table read and nothing is saved.
+     */
+    @Test
+    void testUpdateArchivedFormData() {
+        // Given: ID 1L is no longer in the live table but is held by the archive.
+        when(testFormDataRepository.findById(1L)).thenReturn(Optional.empty());
+        when(archive.findById(1L)).thenReturn(Optional.of(formData1));
+
+        // When / Then: Updating the archived row is rejected.
+        assertThrows(ArchivedDataException.class, () -> testFormDataService.saveTestFormData(formData1));
+        verify(testFormDataRepository, times(1)).findById(1L);
+        verify(testFormDataRepository, never()).existsById(any());
+        verify(testFormDataRepository, never()).saveAndFlush(any());
+    }
+
+    /**
+     * Tests the {@code saveTestFormData} method for a row archived after it was loaded but before it was saved.
+     * Verifies that the stale-row failure from the repository is reported as an ArchivedDataException.
+     */
+    @Test
+    void testUpdateFormDataArchivedDuringSave() {
+        // Given: The row is live when loaded, but the update finds it gone and the archive now holds it.
+        when(testFormDataRepository.findById(1L)).thenReturn(Optional.of(formData1));
+        when(testFormDataRepository.saveAndFlush(formData1))
+                .thenThrow(new ObjectOptimisticLockingFailureException(TestFormData.class, 1L));
+        when(archive.findById(1L)).thenReturn(Optional.of(formData1));
+
+        // When / Then: The failed update is reported as a conflict with the archive.
+        assertThrows(ArchivedDataException.class, () -> testFormDataService.saveTestFormData(formData1));
+    }
+
+    /**
+     * Tests the {@code nameExists} method when the name index rules the name out.
+     * Verifies that no database lookup is made.
+     */
+    @Test
+    void testNameExistsSkipsDatabaseOnIndexMiss() {
+        // When: Check a name the (mocked) index reports as absent.
+        boolean exists = testFormDataService.nameExists("Unknown");
+
+        // Then: The name is reported absent without touching the repository.
+        assertFalse(exists, "Name should not exist.");
+        verify(testFormDataRepository, never()).existsByName(any());
+    }
+
+    /**
+     * Tests the {@code getTestFormDataById} method for a row that has been archived.
+     * Verifies that the service falls back to the archive when the live table has no match.
+     */
+    @Test
+    void testGetFormDataByIdFallsBackToArchive() {
+        // Given: ID 1L is no longer in the live table but is held by the archive.
+        when(testFormDataRepository.findById(1L)).thenReturn(Optional.empty());
+        when(archive.findById(1L)).thenReturn(Optional.of(formData1));
+
+        // When: Call the service method.
+        Optional<TestFormData> foundData = testFormDataService.getTestFormDataById(1L);
+
+        // Then: The archived row is returned.
+        assertTrue(foundData.isPresent(), "Archived data should be found for ID 1L.");
+        assertEquals(formData1.getName(), foundData.get().getName());
+    }
+
+    /**
+     * Tests the {@code deleteTestFormData} method for a row that exists only in the archive.
+     * Verifies that an ArchivedDataException is thrown and the repository is not asked to delete.
+     */
+    @Test
+    void testDeleteArchivedFormData() {
+        // Given: ID 1L is archived and not in the live table.
+        when(archive.findById(1L)).thenReturn(Optional.of(formData1));
+        when(testFormDataRepository.existsById(1L)).thenReturn(false);
+
+        // When / Then: Deleting the archived row is rejected.
+        assertThrows(ArchivedDataException.class, () -> testFormDataService.deleteTestFormData(1L));
+        verify(testFormDataRepository, never()).deleteById(any());
+    }
+}
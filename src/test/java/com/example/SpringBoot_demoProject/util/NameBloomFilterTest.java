@@ -0,0 +1,94 @@
+package com.example.SpringBoot_demoProject.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link NameBloomFilter} and {@link ScalableNameBloomFilter}.
+ * These tests check the two properties callers rely on: no false negatives, and a
+ * false-positive rate close to the one the filter was sized for.
+ */
+public class NameBloomFilterTest {
+
+    /**
+     * Verifies that every added name is reported as possibly present.
+     */
+    @Test
+    void testNoFalseNegatives() {
+        NameBloomFilter filter = new NameBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("name-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("name-" + i), "Added name should always be reported: name-" + i);
+        }
+        assertEquals(10_000, filter.insertions());
+    }
+
+    /**
+     * Verifies that the measured false-positive rate at full capacity stays near the configured target,
+     * and that the filter's own estimate agrees with it.
+     */
+    @Test
+    void testFalsePositiveRateNearTarget() {
+        NameBloomFilter filter = new NameBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("present-" + i);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / probes;
+
+        assertTrue(observed < 0.02, "Observed false-positive rate too high: " + observed);
+        assertEquals(0.01, filter.expectedFalsePositiveProbability(), 0.005);
+        assertTrue(filter.memoryBytes() > 0 && filter.memoryBytes() < 16 * 1024, "Unexpected filter size.");
+    }
+
+    /**
+     * Verifies that an empty filter rejects everything, including null.
+     */
+    @Test
+    void testEmptyFilter() {
+        NameBloomFilter filter = new NameBloomFilter(100, 0.01);
+
+        assertFalse(filter.mightContain("anything"));
+        assertFalse(filter.mightContain(null));
+        assertEquals(0.0, filter.expectedFalsePositiveProbability());
+    }
+
+    /**
+     * Verifies that a scalable filter keeps working far past its initial capacity: it grows new stages,
+     * keeps every added name, and holds its compound false-positive rate under the configured bound.
+     */
+    @Test
+    void testScalableFilterGrowsPastCapacity() {
+        ScalableNameBloomFilter filter = new ScalableNameBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("present-" + i);
+        }
+
+        assertTrue(filter.stageCount() > 1, "Filter should have grown new stages.");
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(filter.mightContain("present-" + i), "Added name should always be reported: present-" + i);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / probes;
+        assertTrue(observed < 0.015, "Observed false-positive rate too high: " + observed);
+        assertTrue(filter.expectedFalsePositiveProbability() < 0.015);
+    }
+}